@@ -1,11 +1,19 @@
 package ca.gbc.approvalservice;
 
+import ca.gbc.common.client.DownstreamCalls;
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.idempotency.IdempotencyStore;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.mongo.QueryPlanVerifier;
+import ca.gbc.common.security.CachingJwtDecoder;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 @EnableFeignClients(basePackages = "ca.gbc.approvalservice.Client")
+@Import({QueryPlanVerifier.class, IdempotencyStore.class, DownstreamCalls.class, UserDirectory.class, CallerIdentityResolver.class, CachingJwtDecoder.class})
 public class ApprovalServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(ApprovalServiceApplication.class, args);
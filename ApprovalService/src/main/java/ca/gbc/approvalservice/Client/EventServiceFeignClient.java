@@ -1,13 +1,22 @@
 package ca.gbc.approvalservice.Client;
 
 import ca.gbc.approvalservice.dto.Event;
+import ca.gbc.common.web.BatchLookupResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.Collection;
+
 @FeignClient(name = "event-service", url = "${event.service.url}")
 public interface EventServiceFeignClient {
     @GetMapping("/api/events/{id}")
     Event getEventById(@RequestHeader("Authorization") String authorization, @PathVariable("id") String eventId);
+
+    @PostMapping("/api/events/batch")
+    BatchLookupResponse<Event, String> getEventsByIds(@RequestHeader("Authorization") String authorization,
+                                                      @RequestBody Collection<String> eventIds);
 }
@@ -1,21 +1,40 @@
 package ca.gbc.approvalservice.Client;
 
 import ca.gbc.approvalservice.dto.User;
+import ca.gbc.approvalservice.dto.UserRole;
+import ca.gbc.common.web.BatchLookupResponse;
 import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+
 @FeignClient(name = "user-service", url = "${user.service.url}")
 public interface UserServiceFeignClient {
     @GetMapping("/api/users/{id}")
     @CircuitBreaker(name = "userServiceCircuitBreaker", fallbackMethod = "fallbackUser")
     User getUserById(@RequestHeader("Authorization") String authorization, @PathVariable("id") String userId);
 
+    @GetMapping("/api/users/{id}/role")
+    @CircuitBreaker(name = "userServiceCircuitBreaker", fallbackMethod = "fallbackUserRole")
+    UserRole getUserRole(@RequestHeader("Authorization") String authorization, @PathVariable("id") String userId);
+
+    @GetMapping("/api/users/subjects/{subject}/role")
+    @CircuitBreaker(name = "userServiceCircuitBreaker", fallbackMethod = "fallbackUserRoleBySubject")
+    UserRole getUserRoleBySubject(@RequestHeader("Authorization") String authorization, @PathVariable("subject") String subject);
+
+    @PostMapping("/api/users/batch")
+    @CircuitBreaker(name = "userServiceCircuitBreaker", fallbackMethod = "fallbackUsers")
+    BatchLookupResponse<User, Long> getUsersByIds(@RequestHeader("Authorization") String authorization,
+                                                  @RequestBody Collection<Long> userIds);
+
     default User fallbackUser(String authorization, String userId, Throwable throwable) {
         if (throwable instanceof FeignException.NotFound) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User with ID: " + userId + " does not exist");
@@ -24,5 +43,25 @@ public interface UserServiceFeignClient {
         }
     }
 
+    default UserRole fallbackUserRole(String authorization, String userId, Throwable throwable) {
+        if (throwable instanceof FeignException.NotFound) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User with ID: " + userId + " does not exist");
+        } else {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "UserService is unavailable for the approval Service ");
+        }
+    }
+
+    default UserRole fallbackUserRoleBySubject(String authorization, String subject, Throwable throwable) {
+        if (throwable instanceof FeignException.NotFound) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No user is linked to subject: " + subject);
+        } else {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "UserService is unavailable for the approval Service ");
+        }
+    }
+
+    default BatchLookupResponse<User, Long> fallbackUsers(String authorization, Collection<Long> userIds, Throwable throwable) {
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "UserService is unavailable for the approval Service ");
+    }
+
 }
 
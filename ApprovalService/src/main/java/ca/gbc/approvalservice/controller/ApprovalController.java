@@ -3,11 +3,17 @@ package ca.gbc.approvalservice.controller;
 import ca.gbc.approvalservice.dto.ApprovalRequest;
 import ca.gbc.approvalservice.dto.ApprovalResponse;
 import ca.gbc.approvalservice.service.ApprovalService;
+import ca.gbc.common.idempotency.IdempotencyStore;
+import ca.gbc.common.web.CursorPage;
+import ca.gbc.common.web.NdjsonStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -19,12 +25,17 @@ import java.util.List;
 public class ApprovalController {
 
     private final ApprovalService approvalService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<ApprovalResponse> approveEvent(@RequestHeader("Authorization") String authorization, @RequestBody ApprovalRequest request) {
+    public ResponseEntity<ApprovalResponse> approveEvent(@RequestHeader("Authorization") String authorization,
+                                                         @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                         @RequestBody ApprovalRequest request) {
         try {
             log.info("Request to approve event: {}", request);
-            ApprovalResponse approval = approvalService.approveEvent(request, authorization);
+            ApprovalResponse approval = idempotencyStore.execute("approveEvent", idempotencyKey, request,
+                    ApprovalResponse.class, () -> approvalService.approveEvent(request, authorization));
             return ResponseEntity.ok(approval);
         } catch (ResponseStatusException e) {
             log.error("Error during approval process: {}, Status: {}", e.getReason(), e.getStatusCode());
@@ -60,6 +71,29 @@ public class ApprovalController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ApprovalResponse>> getApprovalsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            log.info("Fetching approvals page after: {}", after);
+            return ResponseEntity.ok(approvalService.getApprovalsPage(after, limit));
+        } catch (ResponseStatusException e) {
+            log.error("Error fetching approvals page: {}, Status: {}", e.getReason(), e.getStatusCode());
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (Exception e) {
+            log.error("Error fetching approvals page: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllApprovals() {
+        log.info("Streaming all approvals");
+        StreamingResponseBody body = NdjsonStream.of(objectMapper, approvalService::streamAllApprovals);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApprovalResponse> updateApproval(@PathVariable String id, @RequestHeader("Authorization") String authorization, @RequestBody ApprovalRequest request) {
         try {
@@ -0,0 +1,7 @@
+package ca.gbc.approvalservice.dto;
+
+public record UserRole(
+        String id,
+        String role,
+        boolean active
+) {}
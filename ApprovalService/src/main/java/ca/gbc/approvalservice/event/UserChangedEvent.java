@@ -0,0 +1,17 @@
+package ca.gbc.approvalservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangedEvent {
+    private Long userId;
+    private String changeType;
+    private String role;
+    private String email;
+    private boolean active;
+    private String keycloakSubject;
+}
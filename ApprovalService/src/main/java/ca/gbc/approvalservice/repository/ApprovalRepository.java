@@ -1,13 +1,24 @@
 package ca.gbc.approvalservice.repository;
 
 import ca.gbc.approvalservice.model.Approval;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApprovalRepository extends MongoRepository<Approval, String> {
 
     Optional<Approval> findByEventId(String eventId);
+
+    List<Approval> findAllBy(Pageable pageable);
+
+    List<Approval> findByIdGreaterThan(String id, Pageable pageable);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Approval> streamAllBy();
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package ca.gbc.approvalservice.service;
 
 import ca.gbc.approvalservice.dto.ApprovalRequest;
 import ca.gbc.approvalservice.dto.ApprovalResponse;
+import ca.gbc.common.web.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ApprovalService {
 
@@ -31,6 +33,22 @@ public interface ApprovalService {
      */
     List<ApprovalResponse> getAllApprovals();
 
+    /**
+     * Retrieve approvals in id order, one page at a time.
+     *
+     * @param after the id of the last approval on the previous page, or {@code null} for the first page
+     * @param limit the maximum number of approvals to return
+     * @return the page and the cursor for the next one
+     */
+    CursorPage<ApprovalResponse> getApprovalsPage(String after, int limit);
+
+    /**
+     * Pass every approval to {@code sink} while reading them from a database cursor.
+     *
+     * @param sink receives each approval response
+     */
+    void streamAllApprovals(Consumer<ApprovalResponse> sink);
+
     /**
      * Update an existing approval.
      *
@@ -1,41 +1,60 @@
 package ca.gbc.approvalservice.service;
 
+import ca.gbc.approvalservice.Client.EventServiceFeignClient;
+import ca.gbc.approvalservice.Client.UserServiceFeignClient;
 import ca.gbc.approvalservice.dto.ApprovalRequest;
 import ca.gbc.approvalservice.dto.ApprovalResponse;
 import ca.gbc.approvalservice.dto.Event;
 import ca.gbc.approvalservice.dto.User;
-import ca.gbc.approvalservice.Client.EventServiceFeignClient;
-import ca.gbc.approvalservice.Client.UserServiceFeignClient;
+import ca.gbc.approvalservice.dto.UserRole;
 import ca.gbc.approvalservice.model.Approval;
 import ca.gbc.approvalservice.repository.ApprovalRepository;
+import ca.gbc.common.client.DownstreamCalls;
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.web.CursorPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ApprovalServiceImpl implements ApprovalService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ApprovalRepository approvalRepository;
     private final EventServiceFeignClient eventServiceFeignClient;
     private final UserServiceFeignClient userServiceFeignClient;
+    private final UserDirectory userDirectory;
+    private final CallerIdentityResolver callerIdentities;
+    private final DownstreamCalls downstreamCalls;
 
     @Override
     public ApprovalResponse approveEvent(ApprovalRequest request, String authorization) {
         log.info("Approving event with authorization token");
 
-        // Validate that the approver is a STAFF member
-        validateUserIsStaff(authorization, request.approverId());
-
-        // Validate that the event exists
-        validateEvent(authorization, request.eventId());
+        // Validate that the approver is a STAFF member and that the event exists, concurrently
+        Optional<UserRole> approver = claimedUserRole(request.approverId());
+        try (DownstreamCalls.Scope calls = downstreamCalls.open()) {
+            calls.run("user:" + request.approverId(), () -> validateUserIsStaff(authorization, request.approverId(), approver));
+            calls.run("event:" + request.eventId(), () -> validateEvent(authorization, request.eventId()));
+            calls.awaitAll();
+        }
 
         // Save the approval details
         Approval approval = new Approval(
@@ -72,6 +91,31 @@ public class ApprovalServiceImpl implements ApprovalService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<ApprovalResponse> getApprovalsPage(String after, int limit) {
+        log.info("Fetching approvals page after: {}, limit: {}", after, limit);
+
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + after);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by("id"));
+        List<Approval> approvals = after == null
+                ? approvalRepository.findAllBy(pageable)
+                : approvalRepository.findByIdGreaterThan(after, pageable);
+
+        return CursorPage.of(approvals, pageSize, Approval::getId, this::mapToResponse);
+    }
+
+    @Override
+    public void streamAllApprovals(Consumer<ApprovalResponse> sink) {
+        log.info("Streaming all approvals");
+
+        try (Stream<Approval> approvals = approvalRepository.streamAllBy()) {
+            approvals.map(this::mapToResponse).forEach(sink);
+        }
+    }
+
     @Override
     public ApprovalResponse updateApproval(String id, ApprovalRequest request, String authorization) {
         log.info("Updating approval with ID: {}", id);
@@ -81,7 +125,7 @@ public class ApprovalServiceImpl implements ApprovalService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Approval not found"));
 
         // Validate that the approver is a STAFF member
-        validateUserIsStaff(authorization, request.approverId());
+        validateUserIsStaff(authorization, request.approverId(), claimedUserRole(request.approverId()));
 
         // Update the approval details
         approval.setStatus(request.status());
@@ -105,11 +149,25 @@ public class ApprovalServiceImpl implements ApprovalService {
         log.info("Approval with ID: {} deleted successfully", id);
     }
 
-    private void validateUserIsStaff(String authorization, String userId) {
+    /**
+     * The user as the caller's token describes it, when the caller is that user and the token names a
+     * role; empty when the role has to be looked up.
+     */
+    private Optional<UserRole> claimedUserRole(String userId) {
+        return callerIdentities.claimedUser(userId).map(caller -> new UserRole(userId, caller.role(), true));
+    }
+
+    /**
+     * {@code claimed} is the user as the caller's token describes them, resolved on the request thread;
+     * the directory and then UserService are asked only when it is empty.
+     */
+    private void validateUserIsStaff(String authorization, String userId, Optional<UserRole> claimed) {
         try {
-            User user = userServiceFeignClient.getUserById(authorization, userId);
-            if (user == null) {
-                log.error("User ID: {} not found or service unavailable", userId);
+            UserRole user = claimed
+                    .or(() -> userDirectory.find(userId).map(known -> new UserRole(userId, known.role(), known.active())))
+                    .orElseGet(() -> userServiceFeignClient.getUserRole(authorization, userId));
+            if (user == null || !user.active()) {
+                log.error("User ID: {} not found, deactivated or service unavailable", userId);
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User with ID: " + userId + " does not exist");
             }
             if (!"STAFF".equalsIgnoreCase(user.role())) {
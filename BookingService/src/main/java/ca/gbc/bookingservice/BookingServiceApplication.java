@@ -1,11 +1,23 @@
 package ca.gbc.bookingservice;
 
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.idempotency.IdempotencyStore;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.mongo.QueryPlanVerifier;
+import ca.gbc.common.outbox.MeteredKafkaSender;
+import ca.gbc.common.outbox.Outbox;
+import ca.gbc.common.outbox.OutboxRelay;
+import ca.gbc.common.security.CachingJwtDecoder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableFeignClients(basePackages = "ca.gbc.bookingservice.Client")
+@EnableScheduling
 @SpringBootApplication
+@Import({QueryPlanVerifier.class, IdempotencyStore.class, MeteredKafkaSender.class, Outbox.class, OutboxRelay.class, UserDirectory.class, CallerIdentityResolver.class, CachingJwtDecoder.class})
 public class BookingServiceApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(BookingServiceApplication.class, args);
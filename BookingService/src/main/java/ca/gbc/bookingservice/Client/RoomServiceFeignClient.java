@@ -1,22 +1,45 @@
 package ca.gbc.bookingservice.Client;
 
+import ca.gbc.bookingservice.dto.Room;
+import ca.gbc.common.web.BatchLookupResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "room-service", url = "${ROOM_SERVICE_URL}", fallback = RoomServiceClientFallback.class)
 public interface RoomServiceFeignClient {
 
     @GetMapping("/api/rooms/{id}")
     @CircuitBreaker(name = "roomServiceCircuitBreaker", fallbackMethod = "roomServiceFallback")
-    String getRoomById(@PathVariable("id") Long id);
+    Room getRoomById(@PathVariable("id") Long id);
+
+    @GetMapping("/api/rooms")
+    List<Room> getAllRooms();
+
+    @PostMapping("/api/rooms/batch")
+    BatchLookupResponse<Room, Long> getRoomsByIds(@RequestBody Collection<Long> ids);
 }
 
 class RoomServiceClientFallback implements RoomServiceFeignClient {
     @Override
-    public String getRoomById(Long id) {
-        return "Service Unavailable due to RoomService Is down";
+    public Room getRoomById(Long id) {
+        return null;
+    }
+
+    @Override
+    public List<Room> getAllRooms() {
+        return List.of();
+    }
+
+    @Override
+    public BatchLookupResponse<Room, Long> getRoomsByIds(Collection<Long> ids) {
+        return null;
     }
 }
 
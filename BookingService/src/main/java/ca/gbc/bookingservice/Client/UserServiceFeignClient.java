@@ -1,5 +1,6 @@
 package ca.gbc.bookingservice.Client;
 
+import ca.gbc.bookingservice.dto.UserRole;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,6 +10,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 @FeignClient(name = "user-service", url = "${USER_SERVICE_URL}")
 public interface UserServiceFeignClient {
 
-    @GetMapping("/api/users/{userId}")
-    String getUserById(@RequestHeader("Authorization") String token, @PathVariable("userId") Long userId);
+    @GetMapping("/api/users/{userId}/role")
+    UserRole getUserRole(@RequestHeader("Authorization") String token, @PathVariable("userId") Long userId);
+
+    @GetMapping("/api/users/subjects/{subject}/role")
+    UserRole getUserRoleBySubject(@RequestHeader("Authorization") String token, @PathVariable("subject") String subject);
 }
@@ -0,0 +1,42 @@
+package ca.gbc.bookingservice.archive;
+
+import ca.gbc.bookingservice.model.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A booking that ended before the archive horizon, moved out of {@code Bookings} by {@link BookingArchiver}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "BookingsArchive")
+@CompoundIndexes({
+        @CompoundIndex(name = "room_start", def = "{'roomId': 1, 'startTime': 1}"),
+        @CompoundIndex(name = "user_start", def = "{'userId': 1, 'startTime': 1}"),
+        @CompoundIndex(name = "start", def = "{'startTime': 1}")
+})
+public class ArchivedBooking {
+
+    @Id
+    private String id;
+    private String userId;
+    private String roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String purpose;
+    private Instant archivedAt;
+
+    public static ArchivedBooking of(Booking booking, Instant archivedAt) {
+        return new ArchivedBooking(booking.getId(), booking.getUserId(), booking.getRoomId(),
+                booking.getStartTime(), booking.getEndTime(), booking.getPurpose(), archivedAt);
+    }
+}
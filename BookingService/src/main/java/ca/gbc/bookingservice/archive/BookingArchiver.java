@@ -0,0 +1,167 @@
+package ca.gbc.bookingservice.archive;
+
+import ca.gbc.bookingservice.conflict.BookingConflictIndex;
+import ca.gbc.bookingservice.model.Booking;
+import ca.gbc.bookingservice.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Moves bookings that ended before the archive horizon from {@code Bookings} to {@code BookingsArchive},
+ * so conflict checks, listings and the conflict index only ever see live bookings.
+ * <p>
+ * Runs only inside the configured quiet window, in small batches with a pause between them. Each batch is
+ * copied with idempotent upserts before it is deleted, and the delete re-checks the end time, so replicas
+ * running concurrently or a crash mid-batch never lose a booking. A booking moved into the future between
+ * copy and delete keeps living in {@code Bookings} and its copy is dropped again.
+ */
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    private final BookingRepository bookingRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BookingConflictIndex conflictIndex;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final Counter archived;
+    private final Timer batchTimer;
+    private final AtomicLong lastRunEpochSecond = new AtomicLong();
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           MongoTemplate mongoTemplate,
+                           BookingConflictIndex conflictIndex,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.archive.horizon:P90D}") Duration horizon,
+                           @Value("${booking.archive.batch-size:500}") int batchSize,
+                           @Value("${booking.archive.max-batches-per-run:100}") int maxBatchesPerRun,
+                           @Value("${booking.archive.pause-between-batches:PT0.5S}") Duration pause,
+                           @Value("${booking.archive.window-start:01:00}") String windowStart,
+                           @Value("${booking.archive.window-end:05:00}") String windowEnd) {
+        this.bookingRepository = bookingRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.conflictIndex = conflictIndex;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+        this.windowStart = LocalTime.parse(windowStart);
+        this.windowEnd = LocalTime.parse(windowEnd);
+        this.archived = Counter.builder("booking.archive.archived").register(meterRegistry);
+        this.batchTimer = Timer.builder("booking.archive.batch").register(meterRegistry);
+        Gauge.builder("booking.archive.last.run", lastRunEpochSecond, AtomicLong::get)
+                .description("Epoch second of the last completed archive run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.archive.interval:PT15M}")
+    public void archiveScheduled() {
+        if (!inWindow(LocalTime.now())) {
+            return;
+        }
+        try {
+            int moved = archive();
+            if (moved > 0) {
+                log.info("Archived {} bookings that ended before {}", moved, cutoff());
+            }
+        } catch (Exception ex) {
+            log.error("Booking archive run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Archives up to {@code max-batches-per-run} batches.
+     *
+     * @return how many bookings left the live collection
+     */
+    public int archive() {
+        LocalDateTime cutoff = cutoff();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Booking> expired = bookingRepository.findByEndTimeBefore(cutoff,
+                    PageRequest.of(0, batchSize, Sort.by("endTime")));
+            if (expired.isEmpty()) {
+                break;
+            }
+            total += batchTimer.record(() -> archiveBatch(expired, cutoff));
+            if (expired.size() < batchSize || !sleep()) {
+                break;
+            }
+        }
+        lastRunEpochSecond.set(Instant.now().getEpochSecond());
+        return total;
+    }
+
+    private int archiveBatch(List<Booking> expired, LocalDateTime cutoff) {
+        Instant now = Instant.now();
+        BulkOperations copies = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedBooking.class);
+        expired.forEach(booking -> copies.replaceOne(Query.query(Criteria.where("_id").is(booking.getId())),
+                ArchivedBooking.of(booking, now), FindAndReplaceOptions.options().upsert()));
+        copies.execute();
+
+        Set<String> ids = expired.stream().map(Booking::getId).collect(Collectors.toSet());
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids).and("endTime").lt(cutoff)), Booking.class);
+
+        Set<String> stillLive = bookingRepository.findAllById(ids).stream().map(Booking::getId).collect(Collectors.toSet());
+        if (!stillLive.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(stillLive)), ArchivedBooking.class);
+        }
+        ids.removeAll(stillLive);
+        ids.forEach(conflictIndex::unregister);
+        archived.increment(ids.size());
+        return ids.size();
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(horizon);
+    }
+
+    /**
+     * The window may wrap past midnight, e.g. 22:00 to 06:00; equal bounds mean always.
+     */
+    boolean inWindow(LocalTime time) {
+        if (windowStart.equals(windowEnd)) {
+            return true;
+        }
+        if (windowStart.isBefore(windowEnd)) {
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd);
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
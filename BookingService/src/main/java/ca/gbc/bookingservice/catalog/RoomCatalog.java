@@ -0,0 +1,189 @@
+package ca.gbc.bookingservice.catalog;
+
+import ca.gbc.bookingservice.Client.RoomServiceFeignClient;
+import ca.gbc.bookingservice.dto.Room;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded local copy of RoomService's rooms, loaded from the compacted {@code rooms} topic. While the
+ * {@link RoomReplica} is caught up with the topic, the topic keeps the catalog current, so room
+ * validation and room searches normally cost no network call.
+ * <p>
+ * The TTL and the background refresh from RoomService stay in place as a backstop: whenever the replica
+ * is not caught up, entries expire after the TTL and the whole catalog is refreshed every
+ * {@code refresh-interval}; while it is caught up, the catalog is still reconciled with RoomService every
+ * {@code backstop-interval}.
+ */
+@Slf4j
+@Component
+public class RoomCatalog {
+
+    private static final Comparator<CatalogRoom> BY_CAPACITY =
+            Comparator.comparing((CatalogRoom entry) -> entry.room().capacity()).thenComparing(entry -> entry.room().id());
+
+    private final RoomServiceFeignClient roomServiceClient;
+    private final RoomReplica roomReplica;
+    private final Duration ttl;
+    private final Duration backstopInterval;
+    private final int maxSize;
+    private final Map<Long, CatalogRoom> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private volatile List<CatalogRoom> byCapacity = List.of();
+    private volatile Instant refreshedAt;
+
+    public RoomCatalog(RoomServiceFeignClient roomServiceClient,
+                       RoomReplica roomReplica,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.room-catalog.ttl:PT10M}") Duration ttl,
+                       @Value("${booking.room-catalog.backstop-interval:PT15M}") Duration backstopInterval,
+                       @Value("${booking.room-catalog.max-size:10000}") int maxSize) {
+        this.roomServiceClient = roomServiceClient;
+        this.roomReplica = roomReplica;
+        this.ttl = ttl;
+        this.backstopInterval = backstopInterval;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("booking.room.catalog.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("booking.room.catalog.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("booking.room.catalog.evictions").register(meterRegistry);
+        Gauge.builder("booking.room.catalog.size", entries, Map::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.room-catalog.refresh-interval:PT1M}")
+    public void refresh() {
+        Instant lastRefresh = refreshedAt;
+        if (roomReplica.isCaughtUp() && lastRefresh != null && lastRefresh.plus(backstopInterval).isAfter(Instant.now())) {
+            return;
+        }
+        try {
+            List<Room> rooms = roomServiceClient.getAllRooms();
+            if (rooms.isEmpty() && !entries.isEmpty()) {
+                log.warn("RoomService returned no rooms, keeping the {} cached rooms", entries.size());
+                return;
+            }
+            Instant now = Instant.now();
+            Map<Long, CatalogRoom> fresh = rooms.stream()
+                    .filter(room -> room.id() != null && room.capacity() != null)
+                    .limit(maxSize)
+                    .collect(Collectors.toMap(Room::id, room -> CatalogRoom.of(room, now), (first, second) -> second));
+            entries.keySet().retainAll(fresh.keySet());
+            entries.putAll(fresh);
+            refreshedAt = now;
+            reindex();
+            log.debug("Room catalog refreshed with {} rooms", fresh.size());
+        } catch (Exception ex) {
+            log.error("Unable to refresh room catalog, keeping {} cached rooms: {}", entries.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * The room with the given id, from the cache while its entry is fresh and from RoomService otherwise.
+     *
+     * @return the room, or {@code null} when RoomService does not know it or cannot be reached
+     */
+    public Room get(Long roomId) {
+        CatalogRoom cached = entries.get(roomId);
+        if (cached != null && (roomReplica.isCaughtUp() || !cached.isExpired(ttl))) {
+            hits.increment();
+            return cached.room();
+        }
+        misses.increment();
+        Room room = roomServiceClient.getRoomById(roomId);
+        if (room != null && room.id() != null && room.capacity() != null) {
+            put(room);
+        }
+        return room;
+    }
+
+    /**
+     * Replaces the cached copy of a room, e.g. from the {@code rooms} topic.
+     */
+    public void put(Room room) {
+        if (!entries.containsKey(room.id()) && entries.size() >= maxSize) {
+            evictOldest();
+        }
+        entries.put(room.id(), CatalogRoom.of(room, Instant.now()));
+        reindex();
+    }
+
+    public void invalidate(Long roomId) {
+        if (entries.remove(roomId) != null) {
+            reindex();
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        refreshedAt = null;
+        reindex();
+    }
+
+    /**
+     * Cached rooms ordered by capacity, then id.
+     */
+    public List<CatalogRoom> rooms() {
+        return byCapacity;
+    }
+
+    public boolean isLoaded() {
+        return refreshedAt != null || roomReplica.isCaughtUp();
+    }
+
+    /**
+     * Features are stored as free text such as "Projector, Whiteboard"; they are compared case-insensitively.
+     */
+    public static Set<String> parseFeatures(String features) {
+        if (features == null || features.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(features.split(","))
+                .map(feature -> feature.trim().toLowerCase(Locale.ROOT))
+                .filter(feature -> !feature.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private void evictOldest() {
+        entries.values().stream()
+                .min(Comparator.comparing(CatalogRoom::loadedAt))
+                .ifPresent(oldest -> {
+                    entries.remove(oldest.room().id());
+                    evictions.increment();
+                });
+    }
+
+    /**
+     * Rooms change rarely, so the capacity order used by searches is rebuilt on every change instead of per search.
+     */
+    private synchronized void reindex() {
+        byCapacity = entries.values().stream().sorted(BY_CAPACITY).toList();
+    }
+
+    public record CatalogRoom(Room room, Set<String> features, Instant loadedAt) {
+
+        static CatalogRoom of(Room room, Instant loadedAt) {
+            return new CatalogRoom(room, parseFeatures(room.features()), loadedAt);
+        }
+
+        boolean isExpired(Duration ttl) {
+            return loadedAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ca.gbc.bookingservice.catalog;
+
+import ca.gbc.bookingservice.dto.Room;
+import ca.gbc.bookingservice.event.RoomChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the local room catalog from the compacted {@code rooms} topic and keeps it current. Every replica
+ * needs every room, so each instance listens in its own consumer group and replays the topic from the
+ * earliest offset; the {@link RoomReplica} reports when that replay has caught up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomChangeListener {
+
+    private final RoomCatalog roomCatalog;
+    private final RoomReplica roomReplica;
+
+    @KafkaListener(topics = RoomReplica.TOPIC, groupId = "booking-room-catalog-${random.uuid}",
+            properties = "auto.offset.reset=earliest")
+    public void onRoomChanged(ConsumerRecord<String, RoomChangedEvent> record) {
+        try {
+            apply(record.key(), record.value());
+        } finally {
+            roomReplica.applied(record.partition(), record.offset());
+        }
+    }
+
+    private void apply(String key, RoomChangedEvent event) {
+        if (key == null) {
+            log.warn("Ignoring rooms record without a key");
+            return;
+        }
+        if (event == null || event.getCapacity() == null) {
+            log.debug("Room ID: {} removed from the catalog", key);
+            roomCatalog.invalidate(Long.valueOf(key));
+            return;
+        }
+        log.debug("Received {} for Room ID: {}", event.getChangeType(), event.getRoomId());
+        roomCatalog.put(new Room(
+                event.getRoomId(),
+                event.getRoomName(),
+                event.getCapacity(),
+                event.getFeatures(),
+                event.getAvailable()
+        ));
+    }
+}
@@ -0,0 +1,185 @@
+package ca.gbc.bookingservice.catalog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how far the room catalog has read the compacted {@code rooms} topic. The end offsets of the
+ * topic are polled from the broker; the lag is the number of records between them and the last record
+ * applied. The catalog is caught up once the lag reaches zero; until that first happens this indicator
+ * keeps the instance out of the readiness group.
+ * <p>
+ * Being caught up is not permanent: it is cleared when the lag grows past {@code max-lag}, e.g. because
+ * the listener has stalled, or when the end offsets could not be read for longer than
+ * {@code stale-after}. The catalog then falls back to RoomService until the lag is back to zero, and the
+ * instance stays ready because that fallback still answers.
+ */
+@Slf4j
+@Component
+public class RoomReplica implements HealthIndicator {
+
+    public static final String TOPIC = "rooms";
+
+    private final KafkaAdmin kafkaAdmin;
+    private final Duration adminTimeout;
+    private final long maxLag;
+    private final Duration staleAfter;
+    private final Map<Integer, Long> positions = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> endOffsets = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean caughtUp;
+    private volatile boolean loaded;
+    private volatile Instant endOffsetsReadAt;
+    private Admin admin;
+
+    public RoomReplica(KafkaAdmin kafkaAdmin,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.room-replica.admin-timeout:PT5S}") Duration adminTimeout,
+                       @Value("${booking.room-replica.max-lag:100}") long maxLag,
+                       @Value("${booking.room-replica.stale-after:PT1M}") Duration staleAfter) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.adminTimeout = adminTimeout;
+        this.maxLag = maxLag;
+        this.staleAfter = staleAfter;
+        Gauge.builder("booking.room.replica.lag", this, RoomReplica::lag).register(meterRegistry);
+        Gauge.builder("booking.room.replica.version", version, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("booking.room.replica.caught.up", this, replica -> replica.caughtUp ? 1 : 0).register(meterRegistry);
+    }
+
+    /**
+     * Records that the record at {@code offset} of the partition has been applied to the catalog.
+     */
+    public void applied(int partition, long offset) {
+        positions.merge(partition, offset + 1, Math::max);
+        version.incrementAndGet();
+        checkCaughtUp();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.room-replica.lag-check-interval:PT5S}")
+    public void refreshEndOffsets() {
+        try {
+            Admin client = admin();
+            TopicDescription topic = client.describeTopics(List.of(TOPIC)).allTopicNames()
+                    .get(adminTimeout.toMillis(), TimeUnit.MILLISECONDS).get(TOPIC);
+            List<TopicPartition> partitions = topic.partitions().stream()
+                    .map(info -> new TopicPartition(TOPIC, info.partition()))
+                    .toList();
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> earliest = listOffsets(client, partitions, OffsetSpec.earliest());
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = listOffsets(client, partitions, OffsetSpec.latest());
+            Map<Integer, Long> logStarts = new HashMap<>();
+            Map<Integer, Long> logEnds = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                logStarts.put(partition.partition(), earliest.get(partition).offset());
+                logEnds.put(partition.partition(), latest.get(partition).offset());
+            }
+            offsetsRead(logStarts, logEnds);
+        } catch (Exception ex) {
+            log.warn("Unable to read end offsets of the {} topic: {}", TOPIC, ex.getMessage());
+            checkCaughtUp();
+        }
+    }
+
+    /**
+     * Records the log start and end offset of each partition, as just read from the broker.
+     */
+    void offsetsRead(Map<Integer, Long> logStarts, Map<Integer, Long> logEnds) {
+        // records before the log start are gone, so there is nothing to wait for there
+        logStarts.forEach((partition, logStart) -> positions.merge(partition, logStart, Math::max));
+        endOffsets.putAll(logEnds);
+        endOffsetsReadAt = Instant.now();
+        checkCaughtUp();
+    }
+
+    public long lag() {
+        return endOffsets.entrySet().stream()
+                .mapToLong(end -> Math.max(0, end.getValue() - positions.getOrDefault(end.getKey(), 0L)))
+                .sum();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = loaded ? Health.up() : Health.outOfService();
+        return health.withDetail("caughtUp", caughtUp)
+                .withDetail("lag", lag())
+                .withDetail("version", version.get())
+                .build();
+    }
+
+    @PreDestroy
+    void close() {
+        Admin client;
+        synchronized (this) {
+            client = admin;
+            admin = null;
+        }
+        if (client != null) {
+            client.close(adminTimeout);
+        }
+    }
+
+    private void checkCaughtUp() {
+        Instant readAt = endOffsetsReadAt;
+        if (readAt == null) {
+            return;
+        }
+        boolean stale = readAt.plus(staleAfter).isBefore(Instant.now());
+        long lag = lag();
+        if (!caughtUp && !stale && lag == 0) {
+            caughtUp = true;
+            loaded = true;
+            log.info("Room catalog caught up with the {} topic at version {}", TOPIC, version.get());
+        } else if (caughtUp && stale) {
+            caughtUp = false;
+            log.warn("Room catalog lag unknown since {}, falling back to RoomService", readAt);
+        } else if (caughtUp && lag > maxLag) {
+            caughtUp = false;
+            log.warn("Room catalog is {} records behind the {} topic, falling back to RoomService", lag, TOPIC);
+        }
+    }
+
+    private synchronized Admin admin() {
+        if (admin == null) {
+            admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return admin;
+    }
+
+    private Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> listOffsets(
+            Admin client, List<TopicPartition> partitions, OffsetSpec spec) throws Exception {
+        Map<TopicPartition, OffsetSpec> request = partitions.stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> spec));
+        return client.listOffsets(request).all().get(adminTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
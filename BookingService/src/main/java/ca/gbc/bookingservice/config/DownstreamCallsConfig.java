@@ -0,0 +1,18 @@
+package ca.gbc.bookingservice.config;
+
+import ca.gbc.bookingservice.exception.BookingServiceException;
+import ca.gbc.common.client.DownstreamCalls;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class DownstreamCallsConfig {
+
+    @Bean
+    public DownstreamCalls downstreamCalls(@Value("${downstream.deadline:PT3S}") Duration deadline) {
+        return new DownstreamCalls(deadline, BookingServiceException::downstreamTimeout);
+    }
+}
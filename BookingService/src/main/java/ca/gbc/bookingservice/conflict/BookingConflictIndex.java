@@ -0,0 +1,280 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+import ca.gbc.bookingservice.hold.BookingHold;
+import ca.gbc.bookingservice.hold.BookingHoldRepository;
+import ca.gbc.bookingservice.model.Booking;
+import ca.gbc.bookingservice.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every live booking in an in-memory {@link ConflictEngine} so conflict checks do not need a
+ * Mongo round trip. Mongo stays the system of record: the index is loaded from it at startup,
+ * patched on every write made through this node, and any hit it reports is confirmed by id before
+ * a request is rejected, so bookings deleted through another replica heal themselves out of the index.
+ * <p>
+ * Live holds occupy the index like bookings, under {@link #holdKey} ids. They are confirmed against
+ * their own deadline rather than Mongo, and the database path reads the holds collection as well.
+ */
+@Slf4j
+@Component
+public class BookingConflictIndex {
+
+    private static final String HOLD_PREFIX = "hold:";
+
+    private final BookingRepository bookingRepository;
+    private final BookingHoldRepository holdRepository;
+    private final Map<String, Instant> holdDeadlines = new ConcurrentHashMap<>();
+    private final ConflictCheckMode mode;
+    private final boolean confirmHits;
+    private final ConflictEngine engine;
+    private final Timer indexTimer;
+    private final Timer databaseTimer;
+    private final Counter mismatches;
+    private volatile boolean loaded;
+
+    public BookingConflictIndex(BookingRepository bookingRepository,
+                                BookingHoldRepository holdRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.conflict.mode:INDEX}") ConflictCheckMode mode,
+                                @Value("${booking.conflict.confirm-hits:true}") boolean confirmHits,
+                                @Value("${booking.conflict.engine:BITMAP}") ConflictEngineType engineType) {
+        this.bookingRepository = bookingRepository;
+        this.holdRepository = holdRepository;
+        this.mode = mode;
+        this.engine = engineType.create();
+        this.confirmHits = confirmHits;
+        this.indexTimer = Timer.builder("booking.conflict.check").tag("source", "index").register(meterRegistry);
+        this.databaseTimer = Timer.builder("booking.conflict.check").tag("source", "database").register(meterRegistry);
+        this.mismatches = Counter.builder("booking.conflict.index.mismatches").register(meterRegistry);
+        Gauge.builder("booking.conflict.index.size", engine, ConflictEngine::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            List<Booking> bookings = bookingRepository.findAll();
+            bookings.forEach(this::register);
+            loaded = true;
+            log.info("Booking conflict index loaded with {} bookings, mode: {}, engine: {}",
+                    engine.size(), mode, engine.getClass().getSimpleName());
+        } catch (Exception ex) {
+            log.error("Unable to load booking conflict index, conflict checks will query Mongo: {}", ex.getMessage(), ex);
+        }
+    }
+
+    public List<BookingInterval> findConflictingBookings(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (mode == ConflictCheckMode.DATABASE || !loaded || !isIndexable(roomId, startTime, endTime)) {
+            return queryDatabase(roomId, startTime, endTime);
+        }
+
+        List<BookingInterval> indexed = indexTimer.record(() -> engine.findConflictingBookings(roomId, startTime, endTime));
+        if (confirmHits && !indexed.isEmpty()) {
+            indexed = confirm(indexed, roomId, startTime, endTime);
+        }
+
+        if (mode == ConflictCheckMode.VERIFY) {
+            List<BookingInterval> stored = queryDatabase(roomId, startTime, endTime);
+            if (!bookingIds(indexed).equals(bookingIds(stored))) {
+                mismatches.increment();
+                log.warn("Conflict index disagrees with Mongo for Room ID: {} between {} and {}. Index: {}, Mongo: {}",
+                        roomId, startTime, endTime, bookingIds(indexed), bookingIds(stored));
+                repair(indexed, stored);
+            }
+            return stored;
+        }
+        return indexed;
+    }
+
+    /**
+     * Conflicts straight from Mongo, for callers that must see writes made by other replicas.
+     */
+    public List<BookingInterval> findStoredConflicts(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return queryDatabase(roomId, startTime, endTime);
+    }
+
+    public List<TimeSlot> freeSlots(String roomId, LocalDate day) {
+        if (mode == ConflictCheckMode.DATABASE || !loaded) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            LocalDateTime dayEnd = dayStart.plusDays(1);
+            List<BookingInterval> booked = queryDatabase(roomId, dayStart, dayEnd);
+            booked.sort(Comparator.comparing(BookingInterval::startTime));
+            return FreeTimeSweep.freeBetween(booked, dayStart, dayEnd);
+        }
+        return engine.freeSlots(roomId, day);
+    }
+
+    /**
+     * Unconfirmed occupancy check for searches; a booking made from the result is still checked in full.
+     */
+    public boolean isFree(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (mode == ConflictCheckMode.DATABASE || !loaded) {
+            return queryDatabase(roomId, startTime, endTime).isEmpty();
+        }
+        return indexTimer.record(() -> engine.findConflictingBookings(roomId, startTime, endTime)).isEmpty();
+    }
+
+    /**
+     * Free time for a room inside {@code [from, to)}. Answered from the index without confirming hits,
+     * which is fine for display: a booking placed elsewhere is still rejected when it is created.
+     */
+    public List<TimeSlot> freeBetween(String roomId, LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> booked;
+        if (mode == ConflictCheckMode.DATABASE || !loaded) {
+            booked = queryDatabase(roomId, from, to);
+            booked.sort(Comparator.comparing(BookingInterval::startTime));
+        } else {
+            booked = indexTimer.record(() -> engine.findConflictingBookings(roomId, from, to));
+        }
+        return FreeTimeSweep.freeBetween(booked, from, to);
+    }
+
+    public void register(Booking booking) {
+        if (isIndexable(booking.getRoomId(), booking.getStartTime(), booking.getEndTime())) {
+            engine.add(BookingInterval.from(booking));
+        } else {
+            engine.remove(booking.getId());
+        }
+    }
+
+    public void unregister(String bookingId) {
+        engine.remove(bookingId);
+    }
+
+    public void unregisterAll(Collection<String> bookingIds) {
+        engine.removeAll(bookingIds);
+    }
+
+    public void registerHold(BookingHold hold) {
+        String key = holdKey(hold.getId());
+        holdDeadlines.put(key, hold.getExpiresAt());
+        engine.add(new BookingInterval(key, hold.getRoomId(), hold.getStartTime(), hold.getEndTime()));
+    }
+
+    public void releaseHold(String holdId) {
+        String key = holdKey(holdId);
+        engine.remove(key);
+        holdDeadlines.remove(key);
+    }
+
+    /**
+     * The id a hold is reported under in conflict results.
+     */
+    public static String holdKey(String holdId) {
+        return HOLD_PREFIX + holdId;
+    }
+
+    /**
+     * Re-reads the bookings behind index hits so the caller only sees conflicts that still exist in Mongo.
+     */
+    private List<BookingInterval> confirm(List<BookingInterval> hits, String roomId,
+                                          LocalDateTime startTime, LocalDateTime endTime) {
+        Set<String> bookingIds = hits.stream()
+                .map(BookingInterval::bookingId)
+                .filter(id -> !id.startsWith(HOLD_PREFIX))
+                .collect(Collectors.toSet());
+        Map<String, Booking> current = bookingIds.isEmpty() ? Map.of() : bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Instant now = Instant.now();
+        List<BookingInterval> confirmed = new ArrayList<>(hits.size());
+        for (BookingInterval hit : hits) {
+            if (hit.bookingId().startsWith(HOLD_PREFIX)) {
+                Instant deadline = holdDeadlines.get(hit.bookingId());
+                if (deadline != null && deadline.isAfter(now)) {
+                    confirmed.add(hit);
+                } else {
+                    engine.remove(hit.bookingId());
+                    holdDeadlines.remove(hit.bookingId());
+                }
+                continue;
+            }
+            Booking booking = current.get(hit.bookingId());
+            if (booking == null) {
+                log.info("Dropping stale Booking ID: {} from the conflict index", hit.bookingId());
+                engine.remove(hit.bookingId());
+                continue;
+            }
+            register(booking);
+            BookingInterval actual = BookingInterval.from(booking);
+            if (roomId.equals(actual.roomId()) && actual.overlaps(startTime, endTime)) {
+                confirmed.add(actual);
+            }
+        }
+        return confirmed;
+    }
+
+    /**
+     * Brings the index in line with Mongo after a VERIFY mismatch. Indexed bookings Mongo did not return
+     * are re-read by id, since they may only have moved out of the checked range. Mongo only returns live
+     * holds, so an indexed hold it missed is gone, and a hold it returned is re-read for its deadline.
+     */
+    private void repair(List<BookingInterval> indexed, List<BookingInterval> stored) {
+        Set<String> unconfirmed = new HashSet<>(bookingIds(indexed));
+        unconfirmed.removeAll(bookingIds(stored));
+        unconfirmed.stream().filter(id -> id.startsWith(HOLD_PREFIX)).forEach(key -> {
+            engine.remove(key);
+            holdDeadlines.remove(key);
+        });
+        unconfirmed.removeIf(id -> id.startsWith(HOLD_PREFIX));
+        if (!unconfirmed.isEmpty()) {
+            List<Booking> current = bookingRepository.findAllById(unconfirmed);
+            current.forEach(this::register);
+            current.forEach(booking -> unconfirmed.remove(booking.getId()));
+            unconfirmed.forEach(engine::remove);
+        }
+
+        Set<String> storedHolds = new HashSet<>();
+        for (BookingInterval interval : stored) {
+            if (interval.bookingId().startsWith(HOLD_PREFIX)) {
+                storedHolds.add(interval.bookingId().substring(HOLD_PREFIX.length()));
+            } else {
+                engine.add(interval);
+            }
+        }
+        if (!storedHolds.isEmpty()) {
+            holdRepository.findAllById(storedHolds).forEach(this::registerHold);
+        }
+    }
+
+    private List<BookingInterval> queryDatabase(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return databaseTimer.record(() -> {
+            List<BookingInterval> stored = bookingRepository.findConflictingBookings(roomId, startTime, endTime)
+                    .stream()
+                    .map(BookingInterval::from)
+                    .collect(Collectors.toList());
+            holdRepository.findConflictingHolds(roomId, startTime, endTime, Instant.now()).forEach(hold -> stored.add(
+                    new BookingInterval(holdKey(hold.getId()), hold.getRoomId(), hold.getStartTime(), hold.getEndTime())));
+            return stored;
+        });
+    }
+
+    private static boolean isIndexable(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return roomId != null && startTime != null && endTime != null && startTime.isBefore(endTime);
+    }
+
+    private static Set<String> bookingIds(List<BookingInterval> intervals) {
+        return intervals.stream().map(BookingInterval::bookingId).collect(Collectors.toSet());
+    }
+}
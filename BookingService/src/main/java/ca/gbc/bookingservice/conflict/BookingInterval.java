@@ -0,0 +1,28 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * The part of a booking the conflict engines care about: which room it occupies and for how long.
+ */
+public record BookingInterval(
+        String bookingId,
+        String roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+
+    public static BookingInterval from(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getRoomId(), booking.getStartTime(), booking.getEndTime());
+    }
+
+    /**
+     * Same semantics as {@code BookingRepository.findConflictingBookings}: half-open intervals
+     * that share at least one instant.
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startTime.isBefore(end) && endTime.isAfter(start);
+    }
+}
@@ -0,0 +1,10 @@
+package ca.gbc.bookingservice.conflict;
+
+public enum ConflictCheckMode {
+    /** Always run the Mongo {@code $or} query; the index is still maintained but not consulted. */
+    DATABASE,
+    /** Answer from the in-memory index once it has been loaded. */
+    INDEX,
+    /** Run both, report any disagreement and trust Mongo. */
+    VERIFY
+}
@@ -0,0 +1,58 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory occupancy structure answering the same question as
+ * {@code BookingRepository.findConflictingBookings}.
+ */
+public interface ConflictEngine {
+
+    /**
+     * Bookings of the room overlapping {@code [startTime, endTime)}, ordered by start time.
+     */
+    List<BookingInterval> findConflictingBookings(String roomId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Adds the interval of a booking, or moves it when the booking is already indexed. A moved booking
+     * is visible at its new place before it leaves the old one.
+     */
+    void add(BookingInterval interval);
+
+    /**
+     * Removes the interval registered for the given booking, if any.
+     *
+     * @return the removed interval or {@code null} when the booking was not indexed
+     */
+    BookingInterval remove(String bookingId);
+
+    /**
+     * Removes many bookings at once. Engines with derived per-room state override this to rebuild it
+     * once per batch instead of once per booking.
+     *
+     * @return the intervals that were indexed
+     */
+    default List<BookingInterval> removeAll(Collection<String> bookingIds) {
+        List<BookingInterval> removed = new ArrayList<>();
+        for (String bookingId : bookingIds) {
+            BookingInterval interval = remove(bookingId);
+            if (interval != null) {
+                removed.add(interval);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Free time for a room on one calendar day, ordered by start time.
+     */
+    List<TimeSlot> freeSlots(String roomId, LocalDate day);
+
+    int size();
+}
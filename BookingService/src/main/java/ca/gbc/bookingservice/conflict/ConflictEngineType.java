@@ -0,0 +1,12 @@
+package ca.gbc.bookingservice.conflict;
+
+public enum ConflictEngineType {
+    /** Per-room sorted interval map, exact for any start and end time. */
+    INTERVAL,
+    /** Per-room, per-day slot bitmaps on the 15-minute grid, backed by the interval map for off-grid requests. */
+    BITMAP;
+
+    ConflictEngine create() {
+        return this == BITMAP ? new SlotBitmapEngine() : new IntervalConflictEngine();
+    }
+}
@@ -0,0 +1,38 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FreeTimeSweep {
+
+    private FreeTimeSweep() {
+    }
+
+    /**
+     * Walks intervals ordered by start time and returns the gaps between them inside {@code [from, to)}.
+     * Overlapping or touching intervals are merged on the fly.
+     */
+    public static List<TimeSlot> freeBetween(List<BookingInterval> sortedByStart, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingInterval interval : sortedByStart) {
+            if (!cursor.isBefore(to)) {
+                return free;
+            }
+            if (interval.startTime().isAfter(cursor)) {
+                LocalDateTime gapEnd = interval.startTime().isBefore(to) ? interval.startTime() : to;
+                free.add(new TimeSlot(cursor, gapEnd));
+            }
+            if (interval.endTime().isAfter(cursor)) {
+                cursor = interval.endTime();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeSlot(cursor, to));
+        }
+        return free;
+    }
+}
@@ -0,0 +1,139 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-room sorted interval map. Intervals are keyed by start time and every room remembers the
+ * longest interval it has ever held, so an overlap query only has to look at entries starting in
+ * {@code [start - longest, end)} instead of the whole room.
+ */
+public class IntervalConflictEngine implements ConflictEngine {
+
+    private final Map<String, RoomTimeline> rooms = new ConcurrentHashMap<>();
+    private final Map<String, BookingInterval> byBookingId = new ConcurrentHashMap<>();
+
+    @Override
+    public List<BookingInterval> findConflictingBookings(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        RoomTimeline timeline = rooms.get(roomId);
+        if (timeline == null || !startTime.isBefore(endTime)) {
+            return Collections.emptyList();
+        }
+        return timeline.overlapping(startTime, endTime);
+    }
+
+    @Override
+    public void add(BookingInterval interval) {
+        replace(interval);
+    }
+
+    /**
+     * Adds the interval, then drops the one it replaces, so a moved booking is never missing from both places.
+     *
+     * @return the replaced interval or {@code null} when the booking was not indexed
+     */
+    BookingInterval replace(BookingInterval interval) {
+        timeline(interval.roomId()).add(interval);
+        BookingInterval previous = byBookingId.put(interval.bookingId(), interval);
+        if (previous != null && !previous.equals(interval)) {
+            timeline(previous.roomId()).remove(previous);
+        }
+        return previous;
+    }
+
+    @Override
+    public BookingInterval remove(String bookingId) {
+        BookingInterval removed = byBookingId.remove(bookingId);
+        if (removed != null) {
+            timeline(removed.roomId()).remove(removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public List<TimeSlot> freeSlots(String roomId, LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        return FreeTimeSweep.freeBetween(findConflictingBookings(roomId, dayStart, dayEnd), dayStart, dayEnd);
+    }
+
+    @Override
+    public int size() {
+        return byBookingId.size();
+    }
+
+    private RoomTimeline timeline(String roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomTimeline());
+    }
+
+    private static final class RoomTimeline {
+
+        private final NavigableMap<LocalDateTime, Map<String, BookingInterval>> byStart = new TreeMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private Duration longest = Duration.ZERO;
+
+        void add(BookingInterval interval) {
+            lock.writeLock().lock();
+            try {
+                byStart.computeIfAbsent(interval.startTime(), start -> new LinkedHashMap<>())
+                        .put(interval.bookingId(), interval);
+                Duration length = Duration.between(interval.startTime(), interval.endTime());
+                if (length.compareTo(longest) > 0) {
+                    longest = length;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(BookingInterval interval) {
+            lock.writeLock().lock();
+            try {
+                Map<String, BookingInterval> sameStart = byStart.get(interval.startTime());
+                if (sameStart != null) {
+                    // only the exact interval, a booking moved to another end time keeps its new entry
+                    sameStart.remove(interval.bookingId(), interval);
+                    if (sameStart.isEmpty()) {
+                        byStart.remove(interval.startTime());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Returns the overlapping intervals ordered by start time.
+         */
+        List<BookingInterval> overlapping(LocalDateTime startTime, LocalDateTime endTime) {
+            lock.readLock().lock();
+            try {
+                List<BookingInterval> result = new ArrayList<>();
+                for (Map<String, BookingInterval> sameStart
+                        : byStart.subMap(startTime.minus(longest), true, endTime, false).values()) {
+                    for (BookingInterval interval : sameStart.values()) {
+                        if (interval.overlaps(startTime, endTime)) {
+                            result.add(interval);
+                        }
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
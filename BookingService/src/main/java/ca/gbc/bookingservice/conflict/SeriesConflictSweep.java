@@ -0,0 +1,51 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+public final class SeriesConflictSweep {
+
+    private SeriesConflictSweep() {
+    }
+
+    /**
+     * An occurrence that overlaps stored bookings, identified by its position in the series because two
+     * occurrences may be equal.
+     */
+    public record Clash(int index, TimeSlot occurrence, List<String> bookingIds) {}
+
+    /**
+     * Checks every occurrence against the stored bookings in one merge pass. Both lists must be ordered
+     * by start time; bookings that end before the current occurrence starts are dropped for good.
+     * Occurrences are not compared with each other, so callers reject overlapping series first.
+     */
+    public static List<Clash> sweep(List<TimeSlot> sortedOccurrences, List<BookingInterval> sortedExisting) {
+        List<Clash> clashes = new ArrayList<>();
+        List<BookingInterval> active = new LinkedList<>();
+        int next = 0;
+
+        for (int index = 0; index < sortedOccurrences.size(); index++) {
+            TimeSlot occurrence = sortedOccurrences.get(index);
+            while (next < sortedExisting.size() && sortedExisting.get(next).startTime().isBefore(occurrence.endTime())) {
+                active.add(sortedExisting.get(next++));
+            }
+            List<String> hits = new ArrayList<>();
+            for (Iterator<BookingInterval> it = active.iterator(); it.hasNext(); ) {
+                BookingInterval existing = it.next();
+                if (!existing.endTime().isAfter(occurrence.startTime())) {
+                    it.remove();
+                } else if (existing.overlaps(occurrence.startTime(), occurrence.endTime())) {
+                    hits.add(existing.bookingId());
+                }
+            }
+            if (!hits.isEmpty()) {
+                clashes.add(new Clash(index, occurrence, hits));
+            }
+        }
+        return clashes;
+    }
+}
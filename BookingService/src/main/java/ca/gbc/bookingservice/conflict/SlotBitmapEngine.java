@@ -0,0 +1,226 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupancy bitmaps on the 15-minute booking grid. Each room keeps two {@code long} words per day
+ * (96 slots); a bit is set when any booking touches that slot. For a grid-aligned request every
+ * covered slot lies entirely inside the request, so a set bit is a real overlap and a clear mask is a
+ * real miss: the common "room is free" answer takes a few ANDs and allocates nothing.
+ * <p>
+ * Requests that do not sit on the grid, and hits that need the actual bookings, go to the
+ * {@link IntervalConflictEngine} kept alongside the bitmaps. Day words are immutable once published,
+ * so readers never lock; writers rebuild the affected days under the room's monitor.
+ */
+public class SlotBitmapEngine implements ConflictEngine {
+
+    public static final Duration SLOT = Duration.ofMinutes(15);
+    static final int SLOTS_PER_DAY = 96;
+    private static final long SLOT_NANOS = SLOT.toNanos();
+
+    private final IntervalConflictEngine intervals = new IntervalConflictEngine();
+    private final Map<String, Map<LocalDate, long[]>> rooms = new ConcurrentHashMap<>();
+
+    @Override
+    public List<BookingInterval> findConflictingBookings(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!startTime.isBefore(endTime)) {
+            return Collections.emptyList();
+        }
+        if (!isAligned(startTime) || !isAligned(endTime)) {
+            return intervals.findConflictingBookings(roomId, startTime, endTime);
+        }
+        Map<LocalDate, long[]> days = rooms.get(roomId);
+        if (days == null || !anyOccupied(days, startTime, endTime)) {
+            return Collections.emptyList();
+        }
+        return intervals.findConflictingBookings(roomId, startTime, endTime);
+    }
+
+    /**
+     * A moved booking sets its new slots before the old ones are rebuilt, so checks may briefly see both
+     * but never neither.
+     */
+    @Override
+    public void add(BookingInterval interval) {
+        Map<LocalDate, long[]> days = days(interval.roomId());
+        BookingInterval previous;
+        synchronized (days) {
+            previous = intervals.replace(interval);
+            for (LocalDate day = interval.startTime().toLocalDate(); dayStart(day).isBefore(interval.endTime()); day = day.plusDays(1)) {
+                long[] words = days.getOrDefault(day, new long[2]).clone();
+                mark(words, day, interval);
+                days.put(day, words);
+            }
+        }
+        if (previous != null && !previous.equals(interval)) {
+            rebuild(previous);
+        }
+    }
+
+    @Override
+    public BookingInterval remove(String bookingId) {
+        BookingInterval removed = intervals.remove(bookingId);
+        if (removed != null) {
+            rebuild(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Drops all intervals first and then rebuilds each affected room day once, however many of the
+     * removed bookings touched it.
+     */
+    @Override
+    public List<BookingInterval> removeAll(Collection<String> bookingIds) {
+        List<BookingInterval> removed = new ArrayList<>();
+        Map<String, Set<LocalDate>> touched = new HashMap<>();
+        for (String bookingId : bookingIds) {
+            BookingInterval interval = intervals.remove(bookingId);
+            if (interval == null) {
+                continue;
+            }
+            removed.add(interval);
+            Set<LocalDate> days = touched.computeIfAbsent(interval.roomId(), id -> new TreeSet<>());
+            for (LocalDate day = interval.startTime().toLocalDate(); dayStart(day).isBefore(interval.endTime()); day = day.plusDays(1)) {
+                days.add(day);
+            }
+        }
+        touched.forEach(this::rebuild);
+        return removed;
+    }
+
+    @Override
+    public List<TimeSlot> freeSlots(String roomId, LocalDate day) {
+        Map<LocalDate, long[]> days = rooms.get(roomId);
+        long[] words = days == null ? null : days.get(day);
+        List<TimeSlot> free = new ArrayList<>();
+        int slot = 0;
+        while (slot < SLOTS_PER_DAY) {
+            if (isSet(words, slot)) {
+                slot++;
+                continue;
+            }
+            int runStart = slot;
+            while (slot < SLOTS_PER_DAY && !isSet(words, slot)) {
+                slot++;
+            }
+            free.add(new TimeSlot(dayStart(day).plus(SLOT.multipliedBy(runStart)), dayStart(day).plus(SLOT.multipliedBy(slot))));
+        }
+        return free;
+    }
+
+    @Override
+    public int size() {
+        return intervals.size();
+    }
+
+    public static boolean isAligned(LocalDateTime time) {
+        return time.toLocalTime().toNanoOfDay() % SLOT_NANOS == 0;
+    }
+
+    /**
+     * Recomputes the days an interval used to cover from the intervals still indexed for its room.
+     */
+    private void rebuild(BookingInterval removed) {
+        List<LocalDate> covered = new ArrayList<>();
+        for (LocalDate day = removed.startTime().toLocalDate(); dayStart(day).isBefore(removed.endTime()); day = day.plusDays(1)) {
+            covered.add(day);
+        }
+        rebuild(removed.roomId(), covered);
+    }
+
+    private void rebuild(String roomId, Collection<LocalDate> covered) {
+        Map<LocalDate, long[]> days = days(roomId);
+        synchronized (days) {
+            for (LocalDate day : covered) {
+                long[] words = new long[2];
+                for (BookingInterval remaining : intervals.findConflictingBookings(roomId, dayStart(day), dayStart(day.plusDays(1)))) {
+                    mark(words, day, remaining);
+                }
+                if (words[0] == 0 && words[1] == 0) {
+                    days.remove(day);
+                } else {
+                    days.put(day, words);
+                }
+            }
+        }
+    }
+
+    private Map<LocalDate, long[]> days(String roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>());
+    }
+
+    private static boolean anyOccupied(Map<LocalDate, long[]> days, LocalDateTime startTime, LocalDateTime endTime) {
+        for (LocalDate day = startTime.toLocalDate(); dayStart(day).isBefore(endTime); day = day.plusDays(1)) {
+            long[] words = days.get(day);
+            if (words == null) {
+                continue;
+            }
+            int from = firstSlot(day, startTime);
+            int to = endSlot(day, endTime);
+            if ((words[0] & mask(from, to, 0)) != 0 || (words[1] & mask(from, to, 64)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets every slot of {@code day} that the interval touches, including partially covered ones.
+     */
+    private static void mark(long[] words, LocalDate day, BookingInterval interval) {
+        int from = firstSlot(day, interval.startTime());
+        int to = endSlot(day, interval.endTime());
+        words[0] |= mask(from, to, 0);
+        words[1] |= mask(from, to, 64);
+    }
+
+    private static int firstSlot(LocalDate day, LocalDateTime time) {
+        if (time.toLocalDate().isBefore(day)) {
+            return 0;
+        }
+        return (int) (time.toLocalTime().toNanoOfDay() / SLOT_NANOS);
+    }
+
+    private static int endSlot(LocalDate day, LocalDateTime time) {
+        if (time.toLocalDate().isAfter(day)) {
+            return SLOTS_PER_DAY;
+        }
+        return (int) ((time.toLocalTime().toNanoOfDay() + SLOT_NANOS - 1) / SLOT_NANOS);
+    }
+
+    /**
+     * Bits of slots {@code [from, to)} that fall into the 64-slot word starting at {@code wordOffset}.
+     */
+    private static long mask(int from, int to, int wordOffset) {
+        int lo = Math.max(from - wordOffset, 0);
+        int hi = Math.min(to - wordOffset, 64);
+        if (lo >= hi) {
+            return 0L;
+        }
+        long upper = hi == 64 ? -1L : (1L << hi) - 1;
+        long lower = (1L << lo) - 1;
+        return upper & ~lower;
+    }
+
+    private static boolean isSet(long[] words, int slot) {
+        return words != null && (words[slot >> 6] & (1L << (slot & 63))) != 0;
+    }
+
+    private static LocalDateTime dayStart(LocalDate day) {
+        return day.atStartOfDay();
+    }
+}
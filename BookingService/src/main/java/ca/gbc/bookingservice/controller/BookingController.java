@@ -1,12 +1,38 @@
 package ca.gbc.bookingservice.controller;
 
+import ca.gbc.bookingservice.dto.BookingOwnerResponse;
 import ca.gbc.bookingservice.dto.BookingRequest;
 import ca.gbc.bookingservice.dto.BookingResponse;
+import ca.gbc.bookingservice.dto.BookingSeriesRequest;
+import ca.gbc.bookingservice.dto.BookingSeriesResponse;
+import ca.gbc.bookingservice.dto.BulkCancelRequest;
+import ca.gbc.bookingservice.dto.BulkCancelResponse;
+import ca.gbc.bookingservice.dto.HoldConfirmation;
+import ca.gbc.bookingservice.dto.HoldRequest;
+import ca.gbc.bookingservice.dto.HoldResponse;
+import ca.gbc.bookingservice.dto.Room;
+import ca.gbc.bookingservice.dto.RoomAvailability;
+import ca.gbc.bookingservice.dto.TimeSlot;
+import ca.gbc.bookingservice.dto.WaitlistResponse;
+import ca.gbc.bookingservice.service.AvailabilityService;
+import ca.gbc.bookingservice.service.BookingHistoryService;
 import ca.gbc.bookingservice.service.BookingService;
+import ca.gbc.bookingservice.service.RoomSearchService;
+import ca.gbc.common.idempotency.IdempotencyStore;
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
+import ca.gbc.common.web.NdjsonStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,26 +41,168 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final AvailabilityService availabilityService;
+    private final RoomSearchService roomSearchService;
+    private final BookingHistoryService bookingHistoryService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
             @RequestHeader("Authorization") String authorization,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @RequestBody BookingRequest bookingRequest) {
-        BookingResponse booking = bookingService.createBooking(bookingRequest, authorization);
+        BookingResponse booking = idempotencyStore.execute("createBooking", idempotencyKey, bookingRequest,
+                BookingResponse.class, () -> bookingService.createBooking(bookingRequest, authorization));
         return ResponseEntity.ok(booking);
     }
 
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesResponse> createBookingSeries(
+            @RequestHeader("Authorization") String authorization,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestBody BookingSeriesRequest seriesRequest) {
+        BookingSeriesResponse series = idempotencyStore.execute("createBookingSeries", idempotencyKey, seriesRequest,
+                BookingSeriesResponse.class, () -> bookingService.createBookingSeries(seriesRequest, authorization));
+        HttpStatus status = series.created().isEmpty() && !series.conflicts().isEmpty() ? HttpStatus.CONFLICT : HttpStatus.OK;
+        return ResponseEntity.status(status).body(series);
+    }
+
+    /**
+     * Cancels every booking matching the filter, e.g. when a room closes or a user leaves.
+     */
+    @PostMapping("/bulk-cancel")
+    public ResponseEntity<BulkCancelResponse> cancelBookings(@RequestBody BulkCancelRequest cancelRequest) {
+        return ResponseEntity.ok(bookingService.cancelBookings(cancelRequest));
+    }
+
+    /**
+     * Holds a slot while the user completes the booking form; confirm it or let it expire.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<HoldResponse> placeHold(
+            @RequestHeader("Authorization") String authorization,
+            @RequestBody HoldRequest holdRequest) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.placeHold(holdRequest, authorization));
+    }
+
+    @PostMapping("/holds/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(
+            @PathVariable String id,
+            @RequestBody HoldConfirmation confirmation) {
+        return ResponseEntity.ok(bookingService.confirmHold(id, confirmation));
+    }
+
+    @DeleteMapping("/holds/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String id) {
+        bookingService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Queues a request for an occupied slot; it is booked and the user notified once the slot frees up.
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistResponse> joinWaitlist(
+            @RequestHeader("Authorization") String authorization,
+            @RequestBody BookingRequest bookingRequest) {
+        WaitlistResponse entry = bookingService.joinWaitlist(bookingRequest, authorization);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(entry);
+    }
+
+    @GetMapping("/waitlist/{id}")
+    public ResponseEntity<WaitlistResponse> getWaitlistEntry(@PathVariable String id) {
+        return ResponseEntity.ok(bookingService.getWaitlistEntry(id));
+    }
+
+    @DeleteMapping("/waitlist/{id}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable String id) {
+        bookingService.leaveWaitlist(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponse> getBookingById(@PathVariable String id) {
         BookingResponse booking = bookingService.getBookingById(id);
         return ResponseEntity.ok(booking);
     }
 
+    @GetMapping("/{id}/owner")
+    public ResponseEntity<BookingOwnerResponse> getBookingOwner(@PathVariable String id) {
+        return ResponseEntity.ok(bookingService.getBookingOwner(id));
+    }
+
     @GetMapping
     public ResponseEntity<List<BookingResponse>> getAllBookings() {
         return ResponseEntity.ok(bookingService.getAllBookings());
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookupResponse<BookingResponse, String>> getBookingsByIds(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(bookingService.getBookingsByIds(ids));
+    }
+
+    @GetMapping(params = "userId")
+    public ResponseEntity<CursorPage<BookingResponse>> getBookingsForUser(
+            @RequestParam String userId,
+            @RequestParam(defaultValue = "upcoming") String when,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(bookingService.getBookingsForUser(userId, when, after, limit));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<BookingResponse>> getBookingsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(bookingService.getBookingsPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings() {
+        StreamingResponseBody body = NdjsonStream.of(objectMapper, bookingService::streamAllBookings);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/rooms/{roomId}/free-slots")
+    public ResponseEntity<List<TimeSlot>> getFreeSlots(
+            @PathVariable String roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(bookingService.getFreeSlots(roomId, date));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<RoomAvailability>> getAvailability(
+            @RequestParam List<String> roomIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(availabilityService.getAvailability(roomIds, from, to));
+    }
+
+    @GetMapping("/rooms/search")
+    public ResponseEntity<List<Room>> findFreeRooms(
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) List<String> features,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(roomSearchService.findFreeRooms(capacity, features, from, to, limit));
+    }
+
+    /**
+     * Archived bookings, for reports; live bookings are listed by the endpoints above.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<CursorPage<BookingResponse>> getBookingHistory(
+            @RequestParam(required = false) String roomId,
+            @RequestParam(required = false) String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(bookingHistoryService.getHistory(roomId, userId, from, to, after, limit));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BookingResponse> updateBooking(
             @RequestHeader("Authorization") String authorization,
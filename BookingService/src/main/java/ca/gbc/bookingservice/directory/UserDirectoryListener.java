@@ -0,0 +1,37 @@
+package ca.gbc.bookingservice.directory;
+
+import ca.gbc.bookingservice.event.UserChangedEvent;
+import ca.gbc.common.directory.UserDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Keeps the {@link UserDirectory} in step with the {@code users} topic. Every replica needs the whole
+ * directory, so each instance listens in its own consumer group and replays the compacted topic from
+ * the earliest offset on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDirectoryListener {
+
+    private final UserDirectory userDirectory;
+
+    @KafkaListener(topics = "users", groupId = "booking-user-directory-${random.uuid}",
+            properties = "auto.offset.reset=earliest")
+    public void onUserChanged(ConsumerRecord<String, UserChangedEvent> record) {
+        if (record.key() == null) {
+            log.warn("Ignoring users record without a key");
+            return;
+        }
+        UserChangedEvent event = record.value();
+        UserDirectory.DirectoryUser user = event == null ? null
+                : new UserDirectory.DirectoryUser(event.getRole(), event.isActive(), event.getEmail(), event.getKeycloakSubject());
+        userDirectory.apply(record.key(), user, Instant.ofEpochMilli(record.timestamp()));
+    }
+}
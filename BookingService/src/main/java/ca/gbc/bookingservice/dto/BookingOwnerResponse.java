@@ -0,0 +1,9 @@
+package ca.gbc.bookingservice.dto;
+
+/**
+ * Just enough of a booking for ownership checks in other services.
+ */
+public record BookingOwnerResponse(
+        String id,
+        String userId
+) {}
@@ -0,0 +1,29 @@
+package ca.gbc.bookingservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Books one room for many occurrences at once. Either {@code slots} lists every occurrence, or
+ * {@code startTime}/{@code endTime} give the first occurrence and {@code recurrence} repeats it.
+ */
+public record BookingSeriesRequest(
+        String userId,
+        String roomId,
+        String purpose,
+        BookingRequest.UserDetails userDetails,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Recurrence recurrence,
+        List<TimeSlot> slots,
+        boolean allOrNothing
+) {
+    public enum Frequency { DAILY, WEEKLY }
+
+    /**
+     * Repeats every {@code interval} days or weeks until {@code count} occurrences or the
+     * {@code until} date (inclusive), whichever comes first.
+     */
+    public record Recurrence(Frequency frequency, Integer interval, Integer count, LocalDate until) {}
+}
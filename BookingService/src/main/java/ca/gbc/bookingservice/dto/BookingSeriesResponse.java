@@ -0,0 +1,16 @@
+package ca.gbc.bookingservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BookingSeriesResponse(
+        List<BookingResponse> created,
+        List<Conflict> conflicts
+) {
+    public record Conflict(
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            List<String> conflictingBookingIds,
+            String reason
+    ) {}
+}
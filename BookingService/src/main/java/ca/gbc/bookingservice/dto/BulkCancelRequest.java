@@ -0,0 +1,16 @@
+package ca.gbc.bookingservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cancels every booking matching all given filters; bookings overlapping {@code [from, to)} match the
+ * time range. At least one filter is required.
+ */
+public record BulkCancelRequest(
+        String roomId,
+        String userId,
+        LocalDateTime from,
+        LocalDateTime to,
+        String reason,
+        boolean promoteWaitlist
+) {}
@@ -0,0 +1,9 @@
+package ca.gbc.bookingservice.dto;
+
+import java.util.Map;
+
+public record BulkCancelResponse(
+        long cancelled,
+        Map<String, Long> cancelledByRoom,
+        int promoted
+) {}
@@ -0,0 +1,6 @@
+package ca.gbc.bookingservice.dto;
+
+public record HoldConfirmation(
+        String purpose,
+        BookingRequest.UserDetails userDetails
+) {}
@@ -0,0 +1,15 @@
+package ca.gbc.bookingservice.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * {@code holdFor} is optional and capped by {@code booking.hold.max-ttl}.
+ */
+public record HoldRequest(
+        String userId,
+        String roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Duration holdFor
+) {}
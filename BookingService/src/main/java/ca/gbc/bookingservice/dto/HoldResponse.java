@@ -0,0 +1,13 @@
+package ca.gbc.bookingservice.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record HoldResponse(
+        String id,
+        String userId,
+        String roomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Instant expiresAt
+) {}
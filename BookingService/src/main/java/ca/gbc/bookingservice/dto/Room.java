@@ -0,0 +1,9 @@
+package ca.gbc.bookingservice.dto;
+
+public record Room(
+        Long id,
+        String roomName,
+        Integer capacity,
+        String features,
+        Boolean available
+) {}
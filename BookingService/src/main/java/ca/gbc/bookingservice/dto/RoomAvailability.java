@@ -0,0 +1,8 @@
+package ca.gbc.bookingservice.dto;
+
+import java.util.List;
+
+public record RoomAvailability(
+        String roomId,
+        List<TimeSlot> freeSlots
+) {}
@@ -0,0 +1,18 @@
+package ca.gbc.bookingservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code position} is 1 for the next entry to be promoted and {@code null} once the entry left the queue;
+ * {@code bookingId} is set when it was promoted.
+ */
+public record WaitlistResponse(
+        String id,
+        String roomId,
+        String userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String status,
+        Long position,
+        String bookingId
+) {}
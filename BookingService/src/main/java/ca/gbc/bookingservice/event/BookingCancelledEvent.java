@@ -0,0 +1,19 @@
+package ca.gbc.bookingservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCancelledEvent {
+    private String bookingId;
+    private String userId;
+    private String roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String reason;
+}
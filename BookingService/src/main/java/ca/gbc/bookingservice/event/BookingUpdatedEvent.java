@@ -0,0 +1,26 @@
+package ca.gbc.bookingservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Carries both the new and the previous placement of a booking, so consumers can move it in their
+ * own indexes without reading it back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingUpdatedEvent {
+    private String bookingId;
+    private String userId;
+    private String roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String purpose;
+    private String previousRoomId;
+    private LocalDateTime previousStartTime;
+    private LocalDateTime previousEndTime;
+}
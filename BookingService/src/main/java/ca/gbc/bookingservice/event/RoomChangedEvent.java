@@ -0,0 +1,17 @@
+package ca.gbc.bookingservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomChangedEvent {
+    private Long roomId;
+    private String changeType;
+    private String roomName;
+    private Integer capacity;
+    private String features;
+    private Boolean available;
+}
@@ -21,18 +21,42 @@ public class BookingServiceException extends ResponseStatusException {
         return new BookingServiceException(HttpStatus.CONFLICT, message, null);
     }
 
+    public static BookingServiceException reservationContended(String message) {
+        return new BookingServiceException(HttpStatus.CONFLICT, message, null);
+    }
+
+    public static BookingServiceException invalidRequest(String message) {
+        return new BookingServiceException(HttpStatus.BAD_REQUEST, message, null);
+    }
+
+    public static BookingServiceException holdExpired(String message) {
+        return new BookingServiceException(HttpStatus.GONE, message, null);
+    }
+
     public static BookingServiceException roomNotFound(String message) {
         return new BookingServiceException(HttpStatus.NOT_FOUND, message, null);
     }
 
+    public static BookingServiceException roomNotAvailable(String message) {
+        return new BookingServiceException(HttpStatus.CONFLICT, message, null);
+    }
+
     public static BookingServiceException userAuthenticationFailed(String message) {
         return new BookingServiceException(HttpStatus.UNAUTHORIZED, message, null);
     }
 
+    public static BookingServiceException accessDenied(String message) {
+        return new BookingServiceException(HttpStatus.FORBIDDEN, message, null);
+    }
+
     public static BookingServiceException serviceUnavailable(String message) {
         return new BookingServiceException(HttpStatus.SERVICE_UNAVAILABLE, message, null);
     }
 
+    public static BookingServiceException downstreamTimeout(String message) {
+        return new BookingServiceException(HttpStatus.GATEWAY_TIMEOUT, message, null);
+    }
+
     public BookingServiceException withStatus(HttpStatus status) {
         return new BookingServiceException(status, this.getReason(), this.getCause());
     }
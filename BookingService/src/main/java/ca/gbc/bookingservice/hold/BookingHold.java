@@ -0,0 +1,33 @@
+package ca.gbc.bookingservice.hold;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A slot held for a user while they finish a booking. It occupies the room like a booking until it is
+ * confirmed, released or expires; the booking created on confirmation reuses its id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "bookingHolds")
+@CompoundIndex(name = "room_start_end", def = "{'roomId': 1, 'startTime': 1, 'endTime': 1}")
+public class BookingHold {
+
+    @Id
+    private String id;
+    private String userId;
+    private String roomId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
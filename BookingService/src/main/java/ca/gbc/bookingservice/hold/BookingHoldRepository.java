@@ -0,0 +1,19 @@
+package ca.gbc.bookingservice.hold;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingHoldRepository extends MongoRepository<BookingHold, String> {
+
+    /**
+     * Live holds overlapping {@code [startTime, endTime)}; expired ones may linger until Mongo's TTL monitor runs.
+     */
+    @Query("{ 'roomId': ?0, 'startTime': { $lt: ?2 }, 'endTime': { $gt: ?1 }, 'expiresAt': { $gt: ?3 } }")
+    List<BookingHold> findConflictingHolds(String roomId, LocalDateTime startTime, LocalDateTime endTime, Instant now);
+
+    List<BookingHold> findByExpiresAtAfter(Instant now);
+}
@@ -0,0 +1,93 @@
+package ca.gbc.bookingservice.hold;
+
+import ca.gbc.bookingservice.conflict.BookingConflictIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live holds of this replica. Each one is stored in Mongo, where a TTL index removes it for every
+ * replica, and registered as occupancy in the {@link BookingConflictIndex}; a {@link TimingWheel} takes
+ * it out of the index when it expires, touching only the holds that are due.
+ */
+@Slf4j
+@Component
+public class BookingHolds {
+
+    private final BookingHoldRepository holdRepository;
+    private final BookingConflictIndex conflictIndex;
+    private final TimingWheel<String> wheel;
+    private final Map<String, Instant> deadlines = new ConcurrentHashMap<>();
+    private final Counter expired;
+
+    public BookingHolds(BookingHoldRepository holdRepository,
+                        BookingConflictIndex conflictIndex,
+                        MeterRegistry meterRegistry,
+                        @Value("${booking.hold.tick:PT1S}") Duration tick,
+                        @Value("${booking.hold.wheel-size:512}") int wheelSize) {
+        this.holdRepository = holdRepository;
+        this.conflictIndex = conflictIndex;
+        this.wheel = new TimingWheel<>(tick, wheelSize, Instant.now());
+        this.expired = Counter.builder("booking.hold.expired").register(meterRegistry);
+        Gauge.builder("booking.hold.active", deadlines, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            List<BookingHold> holds = holdRepository.findByExpiresAtAfter(Instant.now());
+            holds.forEach(this::track);
+            log.info("Loaded {} live booking holds", holds.size());
+        } catch (Exception ex) {
+            log.error("Unable to load booking holds, they still count as occupancy through Mongo: {}", ex.getMessage(), ex);
+        }
+    }
+
+    public BookingHold place(BookingHold hold) {
+        BookingHold saved = holdRepository.insert(hold);
+        track(saved);
+        return saved;
+    }
+
+    public Optional<BookingHold> find(String id) {
+        return holdRepository.findById(id)
+                .filter(hold -> hold.getExpiresAt().isAfter(Instant.now()));
+    }
+
+    public void release(String id) {
+        holdRepository.deleteById(id);
+        conflictIndex.releaseHold(id);
+        Instant deadline = deadlines.remove(id);
+        if (deadline != null) {
+            wheel.cancel(id, deadline);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${booking.hold.tick:PT1S}")
+    public void expire() {
+        List<String> due = wheel.advance(Instant.now());
+        for (String id : due) {
+            deadlines.remove(id);
+            conflictIndex.releaseHold(id);
+        }
+        expired.increment(due.size());
+    }
+
+    private void track(BookingHold hold) {
+        conflictIndex.registerHold(hold);
+        deadlines.put(hold.getId(), hold.getExpiresAt());
+        wheel.schedule(hold.getId(), hold.getExpiresAt());
+    }
+}
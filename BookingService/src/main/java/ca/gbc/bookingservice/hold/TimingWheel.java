@@ -0,0 +1,70 @@
+package ca.gbc.bookingservice.hold;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hashed timing wheel: deadlines are rounded up to a tick and hashed into one of a fixed number of
+ * buckets. Each {@link #advance} only visits the buckets of the ticks that passed, so expiring keys never
+ * walks the whole table; a key whose deadline is more than one rotation away stays in its bucket until
+ * the rotation in which it is due.
+ */
+final class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Map<K, Long>> buckets;
+    private volatile long currentTick;
+
+    TimingWheel(Duration tick, int size, Instant start) {
+        this.tickMillis = tick.toMillis();
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ConcurrentHashMap<>());
+        }
+        this.currentTick = start.toEpochMilli() / tickMillis;
+    }
+
+    void schedule(K key, Instant deadline) {
+        long tick = Math.max(ceilTick(deadline), currentTick + 1);
+        bucket(tick).put(key, tick);
+    }
+
+    void cancel(K key, Instant deadline) {
+        bucket(Math.max(ceilTick(deadline), currentTick + 1)).remove(key);
+        bucket(ceilTick(deadline)).remove(key);
+    }
+
+    /**
+     * Moves the wheel to {@code now}. Called from a single thread.
+     *
+     * @return the keys whose deadline has passed
+     */
+    List<K> advance(Instant now) {
+        long target = now.toEpochMilli() / tickMillis;
+        List<K> expired = new ArrayList<>();
+        long from = Math.max(currentTick + 1, target - buckets.size() + 1);
+        for (long tick = from; tick <= target; tick++) {
+            bucket(tick).entrySet().removeIf(entry -> {
+                if (entry.getValue() <= target) {
+                    expired.add(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        }
+        currentTick = Math.max(currentTick, target);
+        return expired;
+    }
+
+    private long ceilTick(Instant deadline) {
+        return Math.floorDiv(deadline.toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+
+    private Map<K, Long> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
@@ -11,6 +14,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "Bookings")
+@CompoundIndexes({
+        @CompoundIndex(name = "room_start_end", def = "{'roomId': 1, 'startTime': 1, 'endTime': 1}"),
+        @CompoundIndex(name = "user_start", def = "{'userId': 1, 'startTime': 1, '_id': 1}")
+})
 public class Booking {
 
     @Id
@@ -18,6 +25,7 @@ public class Booking {
     private String userId;
     private String roomId;
     private LocalDateTime startTime;
+    @Indexed
     private LocalDateTime endTime;
     private String purpose;
 
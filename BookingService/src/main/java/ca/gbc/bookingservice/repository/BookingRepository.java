@@ -1,11 +1,15 @@
 package ca.gbc.bookingservice.repository;
 
 import ca.gbc.bookingservice.model.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends MongoRepository<Booking, String> {
 
@@ -16,4 +20,16 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
             "] }")
     List<Booking> findConflictingBookings(String roomId, LocalDateTime startTime, LocalDateTime endTime);
 
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'userId': 1 }")
+    Optional<Booking> findOwnerById(String id);
+
+    List<Booking> findAllBy(Pageable pageable);
+
+    List<Booking> findByIdGreaterThan(String id, Pageable pageable);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Booking> streamAllBy();
+
+    List<Booking> findByEndTimeBefore(LocalDateTime cutoff, Pageable pageable);
+
 }
@@ -0,0 +1,244 @@
+package ca.gbc.bookingservice.reservation;
+
+import ca.gbc.bookingservice.conflict.SlotBitmapEngine;
+import ca.gbc.bookingservice.dto.TimeSlot;
+import ca.gbc.bookingservice.exception.BookingServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes reservations that could overlap. With cluster claims on, every attempt claims the 15-minute
+ * slots its intervals touch in {@code bookingSlotClaims}, whose unique index lets only one attempt hold a
+ * slot at a time, whether the other attempt runs on this node or another. Only attempts that share a slot
+ * of the same room wait for each other, by retrying the claim with backoff; no lock is held while Mongo
+ * is called. Claims are renewed while the action runs, so a slow save never loses its slots to a retry.
+ * <p>
+ * With cluster claims off, a striped lock in this node is the only guard and is held while the action
+ * runs. Then every request for a room waits for the others in that room, whatever their times, and so do
+ * rooms whose ids fall on the same stripe.
+ */
+@Slf4j
+@Component
+public class RoomReservationGuard {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SlotClaimRepository slotClaimRepository;
+    private final Lock[] stripes;
+    private final boolean clusterClaims;
+    private final Duration waitTimeout;
+    private final Duration claimLease;
+    private final Timer waitTimer;
+    private final Counter contended;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slot-claim-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RoomReservationGuard(MongoTemplate mongoTemplate,
+                                SlotClaimRepository slotClaimRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.reservation.lock-stripes:256}") int stripeCount,
+                                @Value("${booking.reservation.cluster-claims:true}") boolean clusterClaims,
+                                @Value("${booking.reservation.wait-timeout:PT2S}") Duration waitTimeout,
+                                @Value("${booking.reservation.claim-lease:PT30S}") Duration claimLease) {
+        this.mongoTemplate = mongoTemplate;
+        this.slotClaimRepository = slotClaimRepository;
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.clusterClaims = clusterClaims;
+        this.waitTimeout = waitTimeout;
+        this.claimLease = claimLease;
+        this.waitTimer = Timer.builder("booking.reservation.wait").register(meterRegistry);
+        this.contended = Counter.builder("booking.reservation.contended").register(meterRegistry);
+    }
+
+    /**
+     * Whether the guard also excludes other replicas. When it does, the caller must re-check conflicts
+     * against Mongo inside {@link #reserve}, because a local index cannot see writes from other nodes.
+     */
+    public boolean isClusterWide() {
+        return clusterClaims;
+    }
+
+    /**
+     * Runs {@code action} while no other reservation attempt can touch the given room and time.
+     */
+    public <T> T reserve(String roomId, LocalDateTime startTime, LocalDateTime endTime, Supplier<T> action) {
+        return reserveAll(roomId, List.of(new TimeSlot(startTime, endTime)), action);
+    }
+
+    /**
+     * Same as {@link #reserve} for several intervals of one room, claimed together in a single bulk insert.
+     */
+    public <T> T reserveAll(String roomId, List<TimeSlot> intervals, Supplier<T> action) {
+        long waitStart = System.nanoTime();
+        if (!clusterClaims) {
+            Lock lock = stripes[Math.floorMod(roomId.hashCode(), stripes.length)];
+            acquire(lock, roomId);
+            try {
+                waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+                return action.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+        List<LocalDateTime> slots = coveredSlots(intervals);
+        if (slots.isEmpty()) {
+            return action.get();
+        }
+        String owner = UUID.randomUUID().toString();
+        claim(owner, roomId, slots, waitStart + waitTimeout.toNanos());
+        waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        long renewEvery = claimLease.toNanos() / 3;
+        ScheduledFuture<?> renewal = renewer.scheduleWithFixedDelay(() -> renew(owner, roomId, slots.size()), renewEvery, renewEvery, TimeUnit.NANOSECONDS);
+        try {
+            return action.get();
+        } finally {
+            renewal.cancel(false);
+            release(owner);
+        }
+    }
+
+    private static List<LocalDateTime> coveredSlots(List<TimeSlot> intervals) {
+        if (intervals.size() == 1) {
+            return coveredSlots(intervals.get(0).startTime(), intervals.get(0).endTime());
+        }
+        Set<LocalDateTime> slots = new TreeSet<>();
+        intervals.forEach(interval -> slots.addAll(coveredSlots(interval.startTime(), interval.endTime())));
+        return new ArrayList<>(slots);
+    }
+
+    /**
+     * Start of every grid slot that {@code [startTime, endTime)} touches, in ascending order.
+     */
+    static List<LocalDateTime> coveredSlots(LocalDateTime startTime, LocalDateTime endTime) {
+        long slotMinutes = SlotBitmapEngine.SLOT.toMinutes();
+        List<LocalDateTime> slots = new ArrayList<>();
+        LocalDateTime slot = startTime.truncatedTo(ChronoUnit.MINUTES).minusMinutes(startTime.getMinute() % slotMinutes);
+        for (; slot.isBefore(endTime); slot = slot.plus(SlotBitmapEngine.SLOT)) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private void acquire(Lock lock, String roomId) {
+        try {
+            if (!lock.tryLock(waitTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                contended.increment();
+                throw BookingServiceException.reservationContended("Room ID: " + roomId + " is busy with another reservation, please retry.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw BookingServiceException.unexpectedError("Interrupted while waiting to reserve Room ID: " + roomId, e);
+        }
+    }
+
+    private void claim(String owner, String roomId, List<LocalDateTime> slots, long deadline) {
+        long backoffMillis = 5;
+        while (true) {
+            Instant now = Instant.now();
+            List<SlotClaim> claims = slots.stream()
+                    .map(slot -> new SlotClaim(null, roomId, slot, owner, now.plus(claimLease)))
+                    .toList();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, SlotClaim.class).insert(claims).execute();
+                return;
+            } catch (BulkOperationException ex) {
+                if (ex.getErrors().stream().noneMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                    release(owner);
+                    throw ex;
+                }
+            } catch (DuplicateKeyException ex) {
+                log.debug("Slot claim collision for Room ID: {}", roomId);
+            }
+
+            release(owner);
+            long reclaimed = slotClaimRepository.deleteByRoomIdAndSlotStartInAndExpiresAtBefore(roomId, slots, now);
+            if (reclaimed > 0) {
+                log.warn("Reclaimed {} expired slot claims for Room ID: {}", reclaimed, roomId);
+                continue;
+            }
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis) > deadline) {
+                contended.increment();
+                throw BookingServiceException.reservationContended("Room ID: " + roomId + " is being reserved for an overlapping time, please retry.");
+            }
+            sleep(backoffMillis);
+            backoffMillis = Math.min(backoffMillis * 2, 100);
+        }
+    }
+
+    /**
+     * Pushes the expiry of the owner's claims a full lease ahead. A claim that already expired and was
+     * reclaimed by another attempt is not recreated, so a short count means the reservation lost a slot.
+     */
+    private void renew(String owner, String roomId, int claimed) {
+        try {
+            long renewed = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("owner").is(owner)),
+                    Update.update("expiresAt", Instant.now().plus(claimLease)),
+                    SlotClaim.class).getModifiedCount();
+            if (renewed < claimed) {
+                log.error("{} of {} slot claims of owner {} for Room ID: {} were lost before the reservation finished",
+                        claimed - renewed, claimed, owner, roomId);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to renew slot claims of owner {} for Room ID: {}", owner, roomId, ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private void release(String owner) {
+        try {
+            slotClaimRepository.deleteByOwner(owner);
+        } catch (Exception ex) {
+            log.error("Failed to release slot claims for owner {}, they will expire after {}", owner, claimLease, ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw BookingServiceException.unexpectedError("Interrupted while waiting for a slot claim", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ca.gbc.bookingservice.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A short-lived claim on one 15-minute slot of a room. The unique {@code (roomId, slotStart)} index
+ * lets only one reservation attempt in the whole cluster hold a slot at a time; claims are deleted as
+ * soon as the attempt finishes and expire on their own if the holder dies.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "bookingSlotClaims")
+@CompoundIndex(name = "room_slot_unique", def = "{'roomId': 1, 'slotStart': 1}", unique = true)
+public class SlotClaim {
+
+    @Id
+    private String id;
+    private String roomId;
+    private LocalDateTime slotStart;
+    @Indexed
+    private String owner;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,14 @@
+package ca.gbc.bookingservice.reservation;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface SlotClaimRepository extends MongoRepository<SlotClaim, String> {
+
+    void deleteByOwner(String owner);
+
+    long deleteByRoomIdAndSlotStartInAndExpiresAtBefore(String roomId, Collection<LocalDateTime> slotStarts, Instant now);
+}
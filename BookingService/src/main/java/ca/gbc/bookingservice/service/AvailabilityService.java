@@ -0,0 +1,10 @@
+package ca.gbc.bookingservice.service;
+
+import ca.gbc.bookingservice.dto.RoomAvailability;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AvailabilityService {
+    List<RoomAvailability> getAvailability(List<String> roomIds, LocalDateTime from, LocalDateTime to);
+}
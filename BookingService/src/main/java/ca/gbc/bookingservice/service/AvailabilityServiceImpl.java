@@ -0,0 +1,69 @@
+package ca.gbc.bookingservice.service;
+
+import ca.gbc.bookingservice.conflict.BookingConflictIndex;
+import ca.gbc.bookingservice.dto.RoomAvailability;
+import ca.gbc.bookingservice.exception.BookingServiceException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Free intervals per room, computed by sweeping each room's bookings in start order. Backs calendar views
+ * that used to download every booking and filter on the client.
+ */
+@Slf4j
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final BookingConflictIndex conflictIndex;
+    private final int maxRooms;
+    private final Duration maxRange;
+    private final Timer queryTimer;
+    private final DistributionSummary roomsPerQuery;
+
+    public AvailabilityServiceImpl(BookingConflictIndex conflictIndex,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${booking.availability.max-rooms:50}") int maxRooms,
+                                   @Value("${booking.availability.max-range:P31D}") Duration maxRange) {
+        this.conflictIndex = conflictIndex;
+        this.maxRooms = maxRooms;
+        this.maxRange = maxRange;
+        this.queryTimer = Timer.builder("booking.availability.query")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.roomsPerQuery = DistributionSummary.builder("booking.availability.rooms").register(meterRegistry);
+    }
+
+    @Override
+    public List<RoomAvailability> getAvailability(List<String> roomIds, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching availability for Room IDs: {} between {} and {}", roomIds, from, to);
+
+        if (roomIds == null || roomIds.isEmpty() || roomIds.size() > maxRooms) {
+            throw BookingServiceException.invalidRequest("Between 1 and " + maxRooms + " room IDs are required.");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw BookingServiceException.invalidRequest("'from' must be before 'to'.");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw BookingServiceException.invalidRequest("Availability can be requested for at most " + maxRange.toDays() + " days.");
+        }
+
+        try {
+            roomsPerQuery.record(roomIds.size());
+            return queryTimer.record(() -> roomIds.stream()
+                    .distinct()
+                    .map(roomId -> new RoomAvailability(roomId, conflictIndex.freeBetween(roomId, from, to)))
+                    .toList());
+        } catch (Exception ex) {
+            log.error("Unexpected error fetching availability: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while fetching availability", ex);
+        }
+    }
+}
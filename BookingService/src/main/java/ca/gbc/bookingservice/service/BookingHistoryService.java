@@ -0,0 +1,11 @@
+package ca.gbc.bookingservice.service;
+
+import ca.gbc.bookingservice.dto.BookingResponse;
+import ca.gbc.common.web.CursorPage;
+
+import java.time.LocalDateTime;
+
+public interface BookingHistoryService {
+    CursorPage<BookingResponse> getHistory(String roomId, String userId, LocalDateTime from, LocalDateTime to,
+                                           String after, int limit);
+}
@@ -0,0 +1,108 @@
+package ca.gbc.bookingservice.service;
+
+import ca.gbc.bookingservice.archive.ArchivedBooking;
+import ca.gbc.bookingservice.dto.BookingResponse;
+import ca.gbc.bookingservice.exception.BookingServiceException;
+import ca.gbc.common.mongo.QueryProbe;
+import ca.gbc.common.mongo.QueryProbeSource;
+import ca.gbc.common.web.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reports over archived bookings. Reads only {@code BookingsArchive}, never the live collection.
+ */
+@Slf4j
+@Service
+public class BookingHistoryServiceImpl implements BookingHistoryService, QueryProbeSource {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration maxRange;
+    private final Timer queryTimer;
+
+    public BookingHistoryServiceImpl(MongoTemplate mongoTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${booking.history.max-range:P366D}") Duration maxRange) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxRange = maxRange;
+        this.queryTimer = Timer.builder("booking.history.query").register(meterRegistry);
+    }
+
+    @Override
+    public CursorPage<BookingResponse> getHistory(String roomId, String userId, LocalDateTime from, LocalDateTime to,
+                                                  String after, int limit) {
+        log.info("Fetching booking history for Room ID: {}, User ID: {} between {} and {}", roomId, userId, from, to);
+
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw BookingServiceException.invalidRequest("'from' must be before 'to'.");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw BookingServiceException.invalidRequest("History can be requested for at most " + maxRange.toDays() + " days.");
+        }
+        if (after != null && !ObjectId.isValid(after)) {
+            throw BookingServiceException.invalidRequest("Invalid cursor: " + after);
+        }
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Query query = historyQuery(roomId, userId, from, to, after, pageSize);
+
+        try {
+            List<ArchivedBooking> rows = queryTimer.record(() -> mongoTemplate.find(query, ArchivedBooking.class));
+            return CursorPage.of(rows, pageSize, ArchivedBooking::getId, this::mapToResponse);
+        } catch (Exception ex) {
+            log.error("Unexpected error fetching booking history: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while fetching booking history", ex);
+        }
+    }
+
+    @Override
+    public List<QueryProbe> queryProbes() {
+        LocalDateTime now = LocalDateTime.now();
+        String after = new ObjectId().toHexString();
+        return List.of(
+                new QueryProbe("Booking history by room", ArchivedBooking.class,
+                        historyQuery("probe", null, now, now.plusDays(1), after, MAX_PAGE_SIZE)),
+                new QueryProbe("Booking history by user", ArchivedBooking.class,
+                        historyQuery(null, "probe", now, now.plusDays(1), after, MAX_PAGE_SIZE)));
+    }
+
+    private Query historyQuery(String roomId, String userId, LocalDateTime from, LocalDateTime to, String after,
+                               int pageSize) {
+        Criteria criteria = Criteria.where("startTime").gte(from).lt(to);
+        if (roomId != null) {
+            criteria.and("roomId").is(roomId);
+        }
+        if (userId != null) {
+            criteria.and("userId").is(userId);
+        }
+        if (after != null) {
+            criteria.and("id").gt(after);
+        }
+        return Query.query(criteria).with(Sort.by("id")).limit(pageSize + 1);
+    }
+
+    private BookingResponse mapToResponse(ArchivedBooking booking) {
+        return new BookingResponse(
+                booking.getId(),
+                booking.getUserId(),
+                booking.getRoomId(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                booking.getPurpose()
+        );
+    }
+}
@@ -1,14 +1,43 @@
 package ca.gbc.bookingservice.service;
 
+import ca.gbc.bookingservice.dto.BookingOwnerResponse;
 import ca.gbc.bookingservice.dto.BookingRequest;
 import ca.gbc.bookingservice.dto.BookingResponse;
+import ca.gbc.bookingservice.dto.BookingSeriesRequest;
+import ca.gbc.bookingservice.dto.BookingSeriesResponse;
+import ca.gbc.bookingservice.dto.BulkCancelRequest;
+import ca.gbc.bookingservice.dto.BulkCancelResponse;
+import ca.gbc.bookingservice.dto.HoldConfirmation;
+import ca.gbc.bookingservice.dto.HoldRequest;
+import ca.gbc.bookingservice.dto.HoldResponse;
+import ca.gbc.bookingservice.dto.TimeSlot;
+import ca.gbc.bookingservice.dto.WaitlistResponse;
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponse createBooking(BookingRequest request, String userId);
+    BookingSeriesResponse createBookingSeries(BookingSeriesRequest request, String authorization);
     BookingResponse updateBooking(String id, BookingRequest request, String userId);
     void deleteBooking(String id);
+    BulkCancelResponse cancelBookings(BulkCancelRequest request);
+    HoldResponse placeHold(HoldRequest request, String authorization);
+    BookingResponse confirmHold(String id, HoldConfirmation confirmation);
+    void releaseHold(String id);
+    WaitlistResponse joinWaitlist(BookingRequest request, String authorization);
+    WaitlistResponse getWaitlistEntry(String id);
+    void leaveWaitlist(String id);
     BookingResponse getBookingById(String id);
+    BookingOwnerResponse getBookingOwner(String id);
     List<BookingResponse> getAllBookings();
+    BatchLookupResponse<BookingResponse, String> getBookingsByIds(Collection<String> ids);
+    CursorPage<BookingResponse> getBookingsPage(String after, int limit);
+    CursorPage<BookingResponse> getBookingsForUser(String userId, String when, String after, int limit);
+    void streamAllBookings(Consumer<BookingResponse> sink);
+    List<TimeSlot> getFreeSlots(String roomId, LocalDate date);
 }
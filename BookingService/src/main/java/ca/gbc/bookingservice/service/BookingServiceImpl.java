@@ -1,78 +1,173 @@
 package ca.gbc.bookingservice.service;
 
-import ca.gbc.bookingservice.Client.RoomServiceFeignClient;
 import ca.gbc.bookingservice.Client.UserServiceFeignClient;
+import ca.gbc.bookingservice.catalog.RoomCatalog;
+import ca.gbc.bookingservice.conflict.BookingConflictIndex;
+import ca.gbc.bookingservice.conflict.BookingInterval;
+import ca.gbc.bookingservice.conflict.SeriesConflictSweep;
+import ca.gbc.bookingservice.dto.BookingOwnerResponse;
 import ca.gbc.bookingservice.dto.BookingRequest;
 import ca.gbc.bookingservice.dto.BookingResponse;
+import ca.gbc.bookingservice.dto.BookingSeriesRequest;
+import ca.gbc.bookingservice.dto.BookingSeriesResponse;
+import ca.gbc.bookingservice.dto.BulkCancelRequest;
+import ca.gbc.bookingservice.dto.BulkCancelResponse;
+import ca.gbc.bookingservice.dto.HoldConfirmation;
+import ca.gbc.bookingservice.dto.HoldRequest;
+import ca.gbc.bookingservice.dto.HoldResponse;
+import ca.gbc.bookingservice.dto.Room;
+import ca.gbc.bookingservice.dto.TimeSlot;
+import ca.gbc.bookingservice.dto.WaitlistResponse;
+import ca.gbc.bookingservice.event.BookingCancelledEvent;
 import ca.gbc.bookingservice.event.BookingPlacedEvent;
+import ca.gbc.bookingservice.event.BookingUpdatedEvent;
 import ca.gbc.bookingservice.exception.BookingServiceException;
+import ca.gbc.bookingservice.hold.BookingHold;
+import ca.gbc.bookingservice.hold.BookingHolds;
 import ca.gbc.bookingservice.model.Booking;
 import ca.gbc.bookingservice.repository.BookingRepository;
+import ca.gbc.bookingservice.reservation.RoomReservationGuard;
+import ca.gbc.bookingservice.waitlist.BookingWaitlist;
+import ca.gbc.bookingservice.waitlist.WaitlistEntry;
+import ca.gbc.common.client.DownstreamCalls;
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.identity.CallerIdentity;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.mongo.QueryProbe;
+import ca.gbc.common.mongo.QueryProbeSource;
+import ca.gbc.common.outbox.Outbox;
+import ca.gbc.common.outbox.OutboxMessage;
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
+import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
-public class BookingServiceImpl implements BookingService {
+public class BookingServiceImpl implements BookingService, QueryProbeSource {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int WAITLIST_PROMOTION_BATCH = 50;
+    private static final Set<String> BULK_CANCEL_ROLES = Set.of("STAFF", "ADMIN");
+
     private final BookingRepository bookingRepository;
-    private final RoomServiceFeignClient roomServiceClient;
+    private final RoomCatalog roomCatalog;
     private final UserServiceFeignClient userServiceClient;
-    private final KafkaTemplate<String, BookingPlacedEvent> kafkaTemplate;
+    private final UserDirectory userDirectory;
+    private final CallerIdentityResolver callerIdentities;
+    private final Outbox outbox;
+    private final BookingConflictIndex conflictIndex;
+    private final RoomReservationGuard reservationGuard;
+    private final DownstreamCalls downstreamCalls;
+    private final MongoTemplate mongoTemplate;
+    private final BookingWaitlist bookingWaitlist;
+    private final BookingHolds bookingHolds;
+    private final int maxSeriesOccurrences;
+    private final int bulkCancelBatchSize;
+    private final Duration holdTtl;
+    private final Duration maxHoldTtl;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
-                              RoomServiceFeignClient roomServiceClient,
+                              RoomCatalog roomCatalog,
                               UserServiceFeignClient userServiceClient,
-                              KafkaTemplate<String, BookingPlacedEvent> kafkaTemplate) {
+                              UserDirectory userDirectory,
+                              CallerIdentityResolver callerIdentities,
+                              Outbox outbox,
+                              BookingConflictIndex conflictIndex,
+                              RoomReservationGuard reservationGuard,
+                              DownstreamCalls downstreamCalls,
+                              MongoTemplate mongoTemplate,
+                              BookingWaitlist bookingWaitlist,
+                              BookingHolds bookingHolds,
+                              @Value("${booking.series.max-occurrences:200}") int maxSeriesOccurrences,
+                              @Value("${booking.bulk-cancel.batch-size:1000}") int bulkCancelBatchSize,
+                              @Value("${booking.hold.ttl:PT10M}") Duration holdTtl,
+                              @Value("${booking.hold.max-ttl:PT30M}") Duration maxHoldTtl) {
         this.bookingRepository = bookingRepository;
-        this.roomServiceClient = roomServiceClient;
+        this.roomCatalog = roomCatalog;
         this.userServiceClient = userServiceClient;
-        this.kafkaTemplate = kafkaTemplate;
+        this.userDirectory = userDirectory;
+        this.callerIdentities = callerIdentities;
+        this.outbox = outbox;
+        this.conflictIndex = conflictIndex;
+        this.reservationGuard = reservationGuard;
+        this.downstreamCalls = downstreamCalls;
+        this.mongoTemplate = mongoTemplate;
+        this.bookingWaitlist = bookingWaitlist;
+        this.bookingHolds = bookingHolds;
+        this.maxSeriesOccurrences = maxSeriesOccurrences;
+        this.bulkCancelBatchSize = bulkCancelBatchSize;
+        this.holdTtl = holdTtl;
+        this.maxHoldTtl = maxHoldTtl;
     }
     @Override
     public BookingResponse createBooking(BookingRequest bookingRequest, String authorization) {
         log.info("Attempting to create booking for User ID: {} with Room ID: {}", bookingRequest.userId(), bookingRequest.roomId());
         try {
-            validateUser(authorization, bookingRequest.userId());
-            Long roomId = parseRoomId(bookingRequest.roomId());
-            validateRoom(roomId);
-
-            List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-                    bookingRequest.roomId(),
-                    bookingRequest.startTime(),
-                    bookingRequest.endTime()
-            );
+            validateUserAndRoom(authorization, bookingRequest.userId(), parseRoomId(bookingRequest.roomId()));
 
-            if (!conflictingBookings.isEmpty()) {
-                log.warn("Room ID: {} is already booked during the requested time", bookingRequest.roomId());
-                throw BookingServiceException.roomAlreadyOccupied("Room is already booked during the requested time.");
-            }
+            ensureRoomIsFree(bookingRequest.roomId(), bookingRequest.startTime(), bookingRequest.endTime(), false);
 
             Booking booking = new Booking(
-                    null,
+                    new ObjectId().toHexString(),
                     bookingRequest.userId(),
                     bookingRequest.roomId(),
                     bookingRequest.startTime(),
                     bookingRequest.endTime(),
                     bookingRequest.purpose()
             );
-            Booking savedBooking = bookingRepository.save(booking);
+            Booking savedBooking = reservationGuard.reserve(
+                    bookingRequest.roomId(),
+                    bookingRequest.startTime(),
+                    bookingRequest.endTime(),
+                    () -> {
+                        ensureRoomIsFree(bookingRequest.roomId(), bookingRequest.startTime(), bookingRequest.endTime(),
+                                reservationGuard.isClusterWide());
+                        stageBookingPlaced(booking.getId(), bookingRequest.userDetails().email());
+                        Booking saved = bookingRepository.save(booking);
+                        conflictIndex.register(saved);
+                        return saved;
+                    });
 
             log.info("Booking created successfully with ID: {}", savedBooking.getId());
 
-            String userEmail = bookingRequest.userDetails().email();
-            BookingPlacedEvent event = new BookingPlacedEvent(
-                    savedBooking.getId(),
-                    userEmail
-            );
-            kafkaTemplate.send("booking-placed", event.getBookingId(), event);
-            log.info("Booking event published for ID: {}", savedBooking.getId());
-
             return mapToResponse(savedBooking);
 
         } catch (BookingServiceException ex) {
@@ -84,23 +179,79 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Override
+    public BookingSeriesResponse createBookingSeries(BookingSeriesRequest seriesRequest, String authorization) {
+        log.info("Attempting to create booking series for User ID: {} with Room ID: {}", seriesRequest.userId(), seriesRequest.roomId());
+        try {
+            List<TimeSlot> occurrences = expandOccurrences(seriesRequest);
+            validateUserAndRoom(authorization, seriesRequest.userId(), parseRoomId(seriesRequest.roomId()));
+
+            BookingSeriesResponse result = reservationGuard.reserveAll(seriesRequest.roomId(), occurrences,
+                    () -> bookFreeOccurrences(seriesRequest, occurrences));
+
+            log.info("Booking series for Room ID: {} created {} of {} occurrences, {} conflicted",
+                    seriesRequest.roomId(), result.created().size(), occurrences.size(), result.conflicts().size());
+            return result;
+
+        } catch (BookingServiceException ex) {
+            log.error("Error during booking series creation: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error during booking series creation: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred during booking series creation", ex);
+        }
+    }
+
     @Override
     public BookingResponse updateBooking(String id, BookingRequest bookingRequest, String authorization) {
         log.info("Updating booking with ID: {}", id);
 
         try {
-            validateUser(authorization, bookingRequest.userId());
-
             Booking booking = bookingRepository.findById(id)
                     .orElseThrow(() -> BookingServiceException.bookingNotFound("Booking not found with ID: " + id));
 
-            booking.setRoomId(bookingRequest.roomId());
-            booking.setStartTime(bookingRequest.startTime());
-            booking.setEndTime(bookingRequest.endTime());
+            String roomId = bookingRequest.roomId();
+            LocalDateTime startTime = bookingRequest.startTime();
+            LocalDateTime endTime = bookingRequest.endTime();
+            if (roomId == null || startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+                throw BookingServiceException.invalidRequest("Booking needs a room and a start time before its end time.");
+            }
+            if (!Objects.equals(bookingRequest.userId(), booking.getUserId())) {
+                throw BookingServiceException.invalidRequest("A booking cannot be handed to another user.");
+            }
+            boolean moved = !Objects.equals(roomId, booking.getRoomId())
+                    || !Objects.equals(startTime, booking.getStartTime())
+                    || !Objects.equals(endTime, booking.getEndTime());
+            if (moved) {
+                validateUserAndRoom(authorization, bookingRequest.userId(), parseRoomId(roomId));
+                ensureRoomIsFree(roomId, startTime, endTime, false, id);
+            } else {
+                validateUser(authorization, bookingRequest.userId());
+            }
+
+            BookingUpdatedEvent event = new BookingUpdatedEvent(id, booking.getUserId(), roomId, startTime, endTime,
+                    bookingRequest.purpose(), booking.getRoomId(), booking.getStartTime(), booking.getEndTime());
+            booking.setRoomId(roomId);
+            booking.setStartTime(startTime);
+            booking.setEndTime(endTime);
             booking.setPurpose(bookingRequest.purpose());
 
-            Booking updatedBooking = bookingRepository.save(booking);
+            Supplier<Booking> save = () -> {
+                outbox.enqueue("booking-updated", id, event, Booking.class, id, OutboxMessage.AggregateState.PRESENT,
+                        Map.of("roomId", roomId, "startTime", startTime, "endTime", endTime));
+                Booking saved = bookingRepository.save(booking);
+                conflictIndex.register(saved);
+                return saved;
+            };
+            // only a new placement is reserved and re-checked; the old one is released by the move itself
+            Booking updatedBooking = !moved ? save.get() : reservationGuard.reserve(roomId, startTime, endTime, () -> {
+                ensureRoomIsFree(roomId, startTime, endTime, reservationGuard.isClusterWide(), id);
+                return save.get();
+            });
             log.info("Booking with ID: {} updated successfully", updatedBooking.getId());
+            if (moved) {
+                promoteWaitlisted(event.getPreviousRoomId(), event.getPreviousStartTime(), event.getPreviousEndTime());
+            }
             return mapToResponse(updatedBooking);
 
         } catch (BookingServiceException ex) {
@@ -131,6 +282,38 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    /**
+     * Reads only the owner field, for other services' ownership checks.
+     */
+    @Override
+    public BookingOwnerResponse getBookingOwner(String id) {
+        return bookingRepository.findOwnerById(id)
+                .map(booking -> new BookingOwnerResponse(booking.getId(), booking.getUserId()))
+                .orElseThrow(() -> BookingServiceException.bookingNotFound("Booking not found with ID: " + id));
+    }
+
+    @Override
+    public BatchLookupResponse<BookingResponse, String> getBookingsByIds(Collection<String> ids) {
+        Collection<String> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw BookingServiceException.invalidRequest("At most " + MAX_BATCH_SIZE + " bookings can be looked up at once.");
+        }
+        log.info("Fetching {} bookings by ID", requested.size());
+
+        try {
+            List<BookingResponse> bookings = bookingRepository.findAllById(requested).stream()
+                    .map(this::mapToResponse)
+                    .toList();
+            return BatchLookupResponse.of(requested, bookings, BookingResponse::id);
+
+        } catch (Exception ex) {
+            log.error("Unexpected error fetching bookings by ID: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while fetching bookings", ex);
+        }
+    }
+
     @Override
     public List<BookingResponse> getAllBookings() {
         log.info("Fetching all bookings");
@@ -149,19 +332,144 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Override
+    public CursorPage<BookingResponse> getBookingsPage(String after, int limit) {
+        log.info("Fetching bookings page after: {}, limit: {}", after, limit);
+
+        try {
+            if (after != null && !ObjectId.isValid(after)) {
+                throw BookingServiceException.invalidRequest("Invalid cursor: " + after);
+            }
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by("id"));
+            List<Booking> bookings = after == null
+                    ? bookingRepository.findAllBy(pageable)
+                    : bookingRepository.findByIdGreaterThan(after, pageable);
+            return CursorPage.of(bookings, pageSize, Booking::getId, this::mapToResponse);
+
+        } catch (BookingServiceException ex) {
+            log.error("Error fetching bookings page: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error fetching bookings page: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while fetching bookings", ex);
+        }
+    }
+
+    /**
+     * A user's bookings ordered by start time, ascending for upcoming and all, descending for past.
+     * Pages are keyed on (startTime, id) so the {@code user_start} index serves both the filter and the
+     * order; the cursor is {@code <startTime>_<id>} of the last row.
+     */
+    @Override
+    public CursorPage<BookingResponse> getBookingsForUser(String userId, String when, String after, int limit) {
+        log.info("Fetching {} bookings for User ID: {} after: {}, limit: {}", when, userId, after, limit);
+
+        try {
+            String filter = when == null ? "upcoming" : when.toLowerCase(Locale.ROOT);
+            if (!List.of("upcoming", "past", "all").contains(filter)) {
+                throw BookingServiceException.invalidRequest("'when' must be upcoming, past or all.");
+            }
+            LocalDateTime afterStart = null;
+            String afterId = null;
+            if (after != null) {
+                int separator = after.lastIndexOf('_');
+                afterId = separator < 0 ? null : after.substring(separator + 1);
+                if (afterId == null || !ObjectId.isValid(afterId)) {
+                    throw BookingServiceException.invalidRequest("Invalid cursor: " + after);
+                }
+                afterStart = LocalDateTime.parse(after.substring(0, separator));
+            }
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            Query query = userBookingsQuery(userId, filter, LocalDateTime.now(), afterStart, afterId, pageSize);
+
+            List<Booking> bookings = mongoTemplate.find(query, Booking.class);
+            return CursorPage.of(bookings, pageSize, booking -> booking.getStartTime() + "_" + booking.getId(), this::mapToResponse);
+
+        } catch (BookingServiceException ex) {
+            log.error("Error fetching bookings for user: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (DateTimeParseException ex) {
+            throw BookingServiceException.invalidRequest("Invalid cursor: " + after);
+        } catch (Exception ex) {
+            log.error("Unexpected error fetching bookings for user: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while fetching bookings", ex);
+        }
+    }
+
+    @Override
+    public List<QueryProbe> queryProbes() {
+        LocalDateTime now = LocalDateTime.now();
+        String afterId = new ObjectId().toHexString();
+        return List.of(
+                new QueryProbe("Upcoming bookings by userId", Booking.class,
+                        userBookingsQuery("probe", "upcoming", now, now, afterId, MAX_PAGE_SIZE)),
+                new QueryProbe("Past bookings by userId", Booking.class,
+                        userBookingsQuery("probe", "past", now, now, afterId, MAX_PAGE_SIZE)));
+    }
+
+    private Query userBookingsQuery(String userId, String filter, LocalDateTime now, LocalDateTime afterStart,
+                                    String afterId, int pageSize) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        switch (filter) {
+            case "upcoming" -> criteria.and("endTime").gt(now);
+            case "past" -> criteria.and("endTime").lte(now);
+            default -> { }
+        }
+        boolean descending = filter.equals("past");
+
+        Query query = Query.query(criteria);
+        if (afterStart != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    descending ? Criteria.where("startTime").lt(afterStart) : Criteria.where("startTime").gt(afterStart),
+                    descending
+                            ? Criteria.where("startTime").is(afterStart).and("id").lt(afterId)
+                            : Criteria.where("startTime").is(afterStart).and("id").gt(afterId)));
+        }
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return query.with(Sort.by(direction, "startTime", "id")).limit(pageSize + 1);
+    }
+
+    @Override
+    public void streamAllBookings(Consumer<BookingResponse> sink) {
+        log.info("Streaming all bookings");
+
+        try (Stream<Booking> bookings = bookingRepository.streamAllBy()) {
+            bookings.map(this::mapToResponse).forEach(sink);
+        }
+    }
+
+    @Override
+    public List<TimeSlot> getFreeSlots(String roomId, LocalDate date) {
+        log.info("Fetching free slots for Room ID: {} on {}", roomId, date);
+
+        try {
+            return conflictIndex.freeSlots(roomId, date);
+        } catch (Exception ex) {
+            log.error("Unexpected error fetching free slots: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while fetching free slots", ex);
+        }
+    }
+
     @Override
     public void deleteBooking(String id) {
         log.info("Deleting booking with ID: {}", id);
 
         try {
-            if (!bookingRepository.existsById(id)) {
+            Booking booking = bookingRepository.findById(id).orElse(null);
+            if (booking == null) {
                 log.error("Booking with ID: {} not found", id);
                 throw BookingServiceException.bookingNotFound("Booking not found with ID: " + id);
             }
 
+            outbox.enqueueAll("booking-cancelled", Map.of(id, cancelledEvent(booking, null)),
+                    Booking.class, OutboxMessage.AggregateState.ABSENT);
             bookingRepository.deleteById(id);
+            conflictIndex.unregister(id);
             log.info("Booking with ID: {} deleted successfully", id);
 
+            promoteWaitlisted(booking.getRoomId(), booking.getStartTime(), booking.getEndTime());
+
         } catch (BookingServiceException ex) {
             log.error("Error during booking deletion: {}", ex.getReason(), ex);
             throw ex;
@@ -171,15 +479,552 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private void validateUser(String authorization, String userId) {
+    /**
+     * Works through the matching bookings in id order, one batch at a time: the cancellation events of a
+     * batch are staged in one insert, the batch is removed with one {@code deleteMany} that repeats the
+     * filter, and the conflict index drops it in one pass. Bookings moved out of the filter in the
+     * meantime survive the delete and are put back into the index.
+     */
+    @Override
+    public BulkCancelResponse cancelBookings(BulkCancelRequest cancelRequest) {
+        log.info("Bulk cancelling bookings for Room ID: {}, User ID: {}, between {} and {}", cancelRequest.roomId(),
+                cancelRequest.userId(), cancelRequest.from(), cancelRequest.to());
         try {
-            log.info("Validating user with ID: {}", userId);
-            userServiceClient.getUserById(authorization, Long.parseLong(userId));
-            log.info("User with ID: {} validated successfully", userId);
-        } catch (Exception e) {
-            log.error("User validation failed for ID: {}", userId, e);
+            if (!callerHasRole(BULK_CANCEL_ROLES)) {
+                throw BookingServiceException.accessDenied("Only staff and administrators can cancel bookings in bulk.");
+            }
+            Criteria filter = bulkCancelFilter(cancelRequest);
+            Map<String, Long> cancelledByRoom = new TreeMap<>();
+            Map<String, TimeSlot> freedByRoom = new HashMap<>();
+            long cancelled = 0;
+            String lastId = null;
+            while (true) {
+                Query page = Query.query(filter);
+                if (lastId != null) {
+                    page.addCriteria(Criteria.where("id").gt(lastId));
+                }
+                page.with(Sort.by("id")).limit(bulkCancelBatchSize);
+                page.fields().include("userId", "roomId", "startTime", "endTime");
+                List<Booking> batch = mongoTemplate.find(page, Booking.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+
+                Map<String, BookingCancelledEvent> events = new LinkedHashMap<>();
+                batch.forEach(booking -> events.put(booking.getId(), cancelledEvent(booking, cancelRequest.reason())));
+                outbox.enqueueAll("booking-cancelled", events, Booking.class, OutboxMessage.AggregateState.ABSENT);
+
+                long deleted = mongoTemplate.remove(
+                        Query.query(new Criteria().andOperator(filter, Criteria.where("id").in(events.keySet()))),
+                        Booking.class).getDeletedCount();
+                conflictIndex.unregisterAll(events.keySet());
+                Set<String> survivors = deleted < batch.size()
+                        ? reindexSurvivors(events.keySet())
+                        : Set.of();
+
+                for (Booking booking : batch) {
+                    if (survivors.contains(booking.getId())) {
+                        continue;
+                    }
+                    cancelledByRoom.merge(booking.getRoomId(), 1L, Long::sum);
+                    freedByRoom.merge(booking.getRoomId(), new TimeSlot(booking.getStartTime(), booking.getEndTime()),
+                            (a, b) -> new TimeSlot(min(a.startTime(), b.startTime()), max(a.endTime(), b.endTime())));
+                }
+                cancelled += deleted;
+                if (batch.size() < bulkCancelBatchSize) {
+                    break;
+                }
+            }
+
+            int promoted = 0;
+            if (cancelRequest.promoteWaitlist()) {
+                for (Map.Entry<String, TimeSlot> freed : freedByRoom.entrySet()) {
+                    promoted += promoteWaitlisted(freed.getKey(), freed.getValue().startTime(), freed.getValue().endTime());
+                }
+            }
+            log.info("Bulk cancel removed {} bookings in {} rooms, promoted {} waitlist entries",
+                    cancelled, cancelledByRoom.size(), promoted);
+            return new BulkCancelResponse(cancelled, cancelledByRoom, promoted);
+
+        } catch (BookingServiceException ex) {
+            log.error("Error during bulk cancellation: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error during bulk cancellation: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred during bulk cancellation", ex);
+        }
+    }
+
+    @Override
+    public HoldResponse placeHold(HoldRequest holdRequest, String authorization) {
+        log.info("Placing hold for User ID: {} on Room ID: {} between {} and {}", holdRequest.userId(),
+                holdRequest.roomId(), holdRequest.startTime(), holdRequest.endTime());
+        try {
+            String roomId = holdRequest.roomId();
+            LocalDateTime startTime = holdRequest.startTime();
+            LocalDateTime endTime = holdRequest.endTime();
+            if (roomId == null || startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+                throw BookingServiceException.invalidRequest("Hold needs a room and a start time before its end time.");
+            }
+            Duration holdFor = holdRequest.holdFor() == null ? holdTtl : holdRequest.holdFor();
+            if (holdFor.isNegative() || holdFor.isZero() || holdFor.compareTo(maxHoldTtl) > 0) {
+                throw BookingServiceException.invalidRequest("A slot can be held for at most " + maxHoldTtl.toMinutes() + " minutes.");
+            }
+            validateUserAndRoom(authorization, holdRequest.userId(), parseRoomId(roomId));
+            ensureRoomIsFree(roomId, startTime, endTime, false);
+
+            BookingHold hold = reservationGuard.reserve(roomId, startTime, endTime, () -> {
+                ensureRoomIsFree(roomId, startTime, endTime, reservationGuard.isClusterWide());
+                return bookingHolds.place(new BookingHold(
+                        new ObjectId().toHexString(),
+                        holdRequest.userId(),
+                        roomId,
+                        startTime,
+                        endTime,
+                        Instant.now().plus(holdFor)));
+            });
+            log.info("Hold {} placed until {}", hold.getId(), hold.getExpiresAt());
+            return new HoldResponse(hold.getId(), hold.getUserId(), hold.getRoomId(), hold.getStartTime(),
+                    hold.getEndTime(), hold.getExpiresAt());
+
+        } catch (BookingServiceException ex) {
+            log.error("Error placing hold: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error placing hold: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while placing hold", ex);
+        }
+    }
+
+    /**
+     * The user and room were validated and the slot kept free when the hold was placed, so confirming
+     * skips the downstream calls and the conflict query: it only re-checks the deadline under the room
+     * reservation and turns the hold into a booking with the same id.
+     */
+    @Override
+    public BookingResponse confirmHold(String id, HoldConfirmation confirmation) {
+        log.info("Confirming hold {}", id);
+        try {
+            BookingHold hold = bookingHolds.find(id)
+                    .orElseThrow(() -> BookingServiceException.holdExpired("Hold not found or expired: " + id));
+            ensureCallerOwns(hold);
+
+            Booking savedBooking = reservationGuard.reserve(hold.getRoomId(), hold.getStartTime(), hold.getEndTime(), () -> {
+                if (!hold.getExpiresAt().isAfter(Instant.now())) {
+                    throw BookingServiceException.holdExpired("Hold expired: " + id);
+                }
+                stageBookingPlaced(id, confirmation.userDetails().email());
+                Booking saved = bookingRepository.save(new Booking(
+                        id,
+                        hold.getUserId(),
+                        hold.getRoomId(),
+                        hold.getStartTime(),
+                        hold.getEndTime(),
+                        confirmation.purpose()));
+                conflictIndex.register(saved);
+                bookingHolds.release(id);
+                return saved;
+            });
+            log.info("Hold {} confirmed as a booking", id);
+            return mapToResponse(savedBooking);
+
+        } catch (BookingServiceException ex) {
+            log.error("Error confirming hold: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error confirming hold: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while confirming hold", ex);
+        }
+    }
+
+    @Override
+    public void releaseHold(String id) {
+        log.info("Releasing hold {}", id);
+        BookingHold hold = bookingHolds.find(id)
+                .orElseThrow(() -> BookingServiceException.holdExpired("Hold not found or expired: " + id));
+        ensureCallerOwns(hold);
+        bookingHolds.release(id);
+        promoteWaitlisted(hold.getRoomId(), hold.getStartTime(), hold.getEndTime());
+    }
+
+    @Override
+    public WaitlistResponse joinWaitlist(BookingRequest bookingRequest, String authorization) {
+        log.info("User ID: {} joining the waitlist for Room ID: {} between {} and {}", bookingRequest.userId(),
+                bookingRequest.roomId(), bookingRequest.startTime(), bookingRequest.endTime());
+        try {
+            if (bookingRequest.roomId() == null || bookingRequest.startTime() == null || bookingRequest.endTime() == null
+                    || !bookingRequest.startTime().isBefore(bookingRequest.endTime())
+                    || !bookingRequest.endTime().isAfter(LocalDateTime.now())) {
+                throw BookingServiceException.invalidRequest("Waitlist needs a room and a future slot whose start is before its end.");
+            }
+            validateUserAndRoom(authorization, bookingRequest.userId(), parseRoomId(bookingRequest.roomId()));
+
+            WaitlistEntry entry = bookingWaitlist.findWaiting(bookingRequest.userId(), bookingRequest.roomId(),
+                    bookingRequest.startTime(), bookingRequest.endTime());
+            if (entry == null) {
+                entry = bookingWaitlist.add(new WaitlistEntry(
+                        null,
+                        bookingRequest.roomId(),
+                        bookingRequest.userId(),
+                        bookingRequest.userDetails().email(),
+                        bookingRequest.startTime(),
+                        bookingRequest.endTime(),
+                        bookingRequest.purpose(),
+                        WaitlistEntry.Status.WAITING,
+                        Instant.now(),
+                        null,
+                        bookingRequest.endTime().atZone(ZoneId.systemDefault()).toInstant()));
+                // the slot may have been freed between the rejected booking and this call
+                promoteWaitlisted(entry.getRoomId(), entry.getStartTime(), entry.getEndTime());
+                entry = bookingWaitlist.find(entry.getId());
+            }
+            return mapToWaitlistResponse(entry);
+
+        } catch (BookingServiceException ex) {
+            log.error("Error joining the waitlist: {}", ex.getReason(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error joining the waitlist: {}", ex.getMessage(), ex);
+            throw BookingServiceException.unexpectedError("Unexpected error occurred while joining the waitlist", ex);
+        }
+    }
+
+    @Override
+    public WaitlistResponse getWaitlistEntry(String id) {
+        WaitlistEntry entry = bookingWaitlist.find(id);
+        if (entry == null) {
+            throw BookingServiceException.bookingNotFound("Waitlist entry not found with ID: " + id);
+        }
+        return mapToWaitlistResponse(entry);
+    }
+
+    @Override
+    public void leaveWaitlist(String id) {
+        log.info("Removing waitlist entry with ID: {}", id);
+        if (bookingWaitlist.leaveQueue(id, WaitlistEntry.Status.CANCELLED, null) == null && bookingWaitlist.find(id) == null) {
+            throw BookingServiceException.bookingNotFound("Waitlist entry not found with ID: " + id);
+        }
+    }
+
+    private static Criteria bulkCancelFilter(BulkCancelRequest cancelRequest) {
+        if (cancelRequest.roomId() == null && cancelRequest.userId() == null
+                && cancelRequest.from() == null && cancelRequest.to() == null) {
+            throw BookingServiceException.invalidRequest("Bulk cancel needs a room, user or time range filter.");
+        }
+        if (cancelRequest.from() != null && cancelRequest.to() != null && !cancelRequest.from().isBefore(cancelRequest.to())) {
+            throw BookingServiceException.invalidRequest("'from' must be before 'to'.");
+        }
+        Criteria criteria = new Criteria();
+        if (cancelRequest.roomId() != null) {
+            criteria.and("roomId").is(cancelRequest.roomId());
+        }
+        if (cancelRequest.userId() != null) {
+            criteria.and("userId").is(cancelRequest.userId());
+        }
+        if (cancelRequest.to() != null) {
+            criteria.and("startTime").lt(cancelRequest.to());
+        }
+        if (cancelRequest.from() != null) {
+            criteria.and("endTime").gt(cancelRequest.from());
+        }
+        return criteria;
+    }
+
+    /**
+     * Re-registers bookings of a batch that the delete did not remove, and returns their ids.
+     */
+    private Set<String> reindexSurvivors(Set<String> bookingIds) {
+        Set<String> survivors = new HashSet<>();
+        for (Booking booking : bookingRepository.findAllById(bookingIds)) {
+            conflictIndex.register(booking);
+            survivors.add(booking.getId());
+        }
+        return survivors;
+    }
+
+    private static BookingCancelledEvent cancelledEvent(Booking booking, String reason) {
+        return new BookingCancelledEvent(booking.getId(), booking.getUserId(), booking.getRoomId(),
+                booking.getStartTime(), booking.getEndTime(), reason);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Books freed time for waiting requests, oldest first. Each entry is re-checked under its own
+     * reservation, so an entry overlapping one promoted earlier in the loop simply keeps waiting.
+     * Failures are logged, never thrown: the booking that freed the slot is already gone.
+     */
+    private int promoteWaitlisted(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId == null || startTime == null || endTime == null) {
+            return 0;
+        }
+        int promotedCount = 0;
+        try {
+            for (WaitlistEntry entry : bookingWaitlist.waitingFor(roomId, startTime, endTime, WAITLIST_PROMOTION_BATCH)) {
+                if (!conflictIndex.findConflictingBookings(roomId, entry.getStartTime(), entry.getEndTime()).isEmpty()) {
+                    continue;
+                }
+                try {
+                    Booking promoted = reservationGuard.reserve(roomId, entry.getStartTime(), entry.getEndTime(),
+                            () -> promote(entry));
+                    if (promoted != null) {
+                        promotedCount++;
+                        log.info("Waitlist entry {} promoted to Booking ID: {}", entry.getId(), promoted.getId());
+                    }
+                } catch (BookingServiceException ex) {
+                    log.warn("Unable to promote waitlist entry {}: {}", entry.getId(), ex.getReason());
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Waitlist promotion for Room ID: {} failed: {}", roomId, ex.getMessage(), ex);
+        }
+        return promotedCount;
+    }
+
+    /**
+     * Runs under the entry's reservation. The entry leaves the queue before the booking is written and
+     * returns to it if the write fails; the booking-placed event notifies the user.
+     */
+    private Booking promote(WaitlistEntry entry) {
+        List<BookingInterval> conflicts = reservationGuard.isClusterWide()
+                ? conflictIndex.findStoredConflicts(entry.getRoomId(), entry.getStartTime(), entry.getEndTime())
+                : conflictIndex.findConflictingBookings(entry.getRoomId(), entry.getStartTime(), entry.getEndTime());
+        if (!conflicts.isEmpty()) {
+            return null;
+        }
+        String bookingId = new ObjectId().toHexString();
+        if (bookingWaitlist.leaveQueue(entry.getId(), WaitlistEntry.Status.PROMOTED, bookingId) == null) {
+            return null;
+        }
+        try {
+            stageBookingPlaced(bookingId, entry.getEmail());
+            Booking saved = bookingRepository.save(new Booking(
+                    bookingId,
+                    entry.getUserId(),
+                    entry.getRoomId(),
+                    entry.getStartTime(),
+                    entry.getEndTime(),
+                    entry.getPurpose()));
+            conflictIndex.register(saved);
+            return saved;
+        } catch (RuntimeException ex) {
+            bookingWaitlist.requeue(entry.getId());
+            throw ex;
+        }
+    }
+
+    /**
+     * Known users are confirmed from the local directory; UserService is only asked about users the
+     * directory has not seen yet. A deactivated user is rejected exactly like an unknown one.
+     */
+    private void validateUser(String authorization, String userId) {
+        Optional<UserDirectory.DirectoryUser> known = userDirectory.find(userId);
+        boolean active;
+        if (known.isPresent()) {
+            log.debug("User with ID: {} found in the user directory", userId);
+            active = known.get().active();
+        } else {
+            try {
+                log.info("Validating user with ID: {}", userId);
+                active = userServiceClient.getUserRole(authorization, Long.parseLong(userId)).active();
+            } catch (Exception e) {
+                log.error("User validation failed for ID: {}", userId, e);
+                throw BookingServiceException.userAuthenticationFailed("User not found or unauthorized for ID: " + userId);
+            }
+        }
+        if (!active) {
+            log.error("User with ID: {} is deactivated", userId);
             throw BookingServiceException.userAuthenticationFailed("User not found or unauthorized for ID: " + userId);
         }
+        log.info("User with ID: {} validated successfully", userId);
+    }
+
+    /**
+     * The user and room lookups are independent, so they run concurrently and cost one round trip.
+     */
+    private void validateUserAndRoom(String authorization, String userId, Long roomId) {
+        boolean caller = isCaller(userId);
+        try (DownstreamCalls.Scope calls = downstreamCalls.open()) {
+            if (!caller) {
+                calls.run("user:" + userId, () -> validateUser(authorization, userId));
+            }
+            calls.run("room:" + roomId, () -> validateRoom(roomId));
+            calls.awaitAll();
+        }
+    }
+
+    /**
+     * A hold is only confirmed or released by the user who placed it; callers whose token names no
+     * user are refused too.
+     */
+    private void ensureCallerOwns(BookingHold hold) {
+        if (!isCaller(hold.getUserId())) {
+            log.error("Caller is not the owner of hold {}", hold.getId());
+            throw BookingServiceException.accessDenied("Hold " + hold.getId() + " belongs to another user");
+        }
+    }
+
+    /**
+     * Reads the security context, so it only recognises the caller on the request thread.
+     */
+    private boolean isCaller(String userId) {
+        return callerIdentities.current().filter(caller -> caller.is(userId)).isPresent();
+    }
+
+    /**
+     * Reads the security context, so it only recognises the caller on the request thread.
+     */
+    private boolean callerHasRole(Set<String> allowed) {
+        return callerIdentities.current()
+                .map(CallerIdentity::role)
+                .filter(role -> allowed.contains(role.toUpperCase(Locale.ROOT)))
+                .isPresent();
+    }
+
+    /**
+     * The first check runs before the room is reserved and rejects most conflicts from the index alone.
+     * The second runs while the room is reserved; it must read Mongo when other replicas can write.
+     */
+    private void ensureRoomIsFree(String roomId, LocalDateTime startTime, LocalDateTime endTime, boolean fromDatabase) {
+        ensureRoomIsFree(roomId, startTime, endTime, fromDatabase, null);
+    }
+
+    /**
+     * As above, ignoring {@code movingBookingId}, whose current placement is about to be replaced.
+     */
+    private void ensureRoomIsFree(String roomId, LocalDateTime startTime, LocalDateTime endTime, boolean fromDatabase,
+                                  String movingBookingId) {
+        List<BookingInterval> conflictingBookings = fromDatabase
+                ? conflictIndex.findStoredConflicts(roomId, startTime, endTime)
+                : conflictIndex.findConflictingBookings(roomId, startTime, endTime);
+
+        if (conflictingBookings.stream().anyMatch(conflict -> !conflict.bookingId().equals(movingBookingId))) {
+            log.warn("Room ID: {} is already booked during the requested time", roomId);
+            throw BookingServiceException.roomAlreadyOccupied(
+                    "Room is already booked during the requested time. POST /api/bookings/waitlist to get it when it frees up.");
+        }
+    }
+
+    /**
+     * Runs under the series reservation: one conflict query spanning the whole series, one sweep over
+     * the occurrences, and one bulk insert for those that are free.
+     */
+    private BookingSeriesResponse bookFreeOccurrences(BookingSeriesRequest seriesRequest, List<TimeSlot> occurrences) {
+        String roomId = seriesRequest.roomId();
+        LocalDateTime seriesStart = occurrences.get(0).startTime();
+        LocalDateTime seriesEnd = occurrences.stream().map(TimeSlot::endTime).max(Comparator.naturalOrder()).orElseThrow();
+
+        List<BookingInterval> existing = new ArrayList<>(reservationGuard.isClusterWide()
+                ? conflictIndex.findStoredConflicts(roomId, seriesStart, seriesEnd)
+                : conflictIndex.findConflictingBookings(roomId, seriesStart, seriesEnd));
+        existing.sort(Comparator.comparing(BookingInterval::startTime));
+
+        List<SeriesConflictSweep.Clash> clashes = SeriesConflictSweep.sweep(occurrences, existing);
+        List<BookingSeriesResponse.Conflict> conflicts = clashes.stream()
+                .map(clash -> new BookingSeriesResponse.Conflict(
+                        clash.occurrence().startTime(),
+                        clash.occurrence().endTime(),
+                        clash.bookingIds(),
+                        "Room is already booked during the requested time."))
+                .toList();
+        if (!conflicts.isEmpty() && seriesRequest.allOrNothing()) {
+            log.warn("Booking series for Room ID: {} rejected, {} occurrences conflict", roomId, conflicts.size());
+            return new BookingSeriesResponse(List.of(), conflicts);
+        }
+
+        Set<Integer> clashing = clashes.stream().map(SeriesConflictSweep.Clash::index).collect(Collectors.toSet());
+        List<Booking> bookings = IntStream.range(0, occurrences.size())
+                .filter(index -> !clashing.contains(index))
+                .mapToObj(occurrences::get)
+                .map(occurrence -> new Booking(
+                        new ObjectId().toHexString(),
+                        seriesRequest.userId(),
+                        roomId,
+                        occurrence.startTime(),
+                        occurrence.endTime(),
+                        seriesRequest.purpose()))
+                .toList();
+        if (bookings.isEmpty()) {
+            return new BookingSeriesResponse(List.of(), conflicts);
+        }
+        // one notification per series, keyed by its first occurrence
+        stageBookingPlaced(bookings.get(0).getId(), seriesRequest.userDetails().email());
+        List<Booking> saved = bookingRepository.insert(bookings);
+        saved.forEach(conflictIndex::register);
+        return new BookingSeriesResponse(saved.stream().map(this::mapToResponse).toList(), conflicts);
+    }
+
+    /**
+     * Stages the booking-placed event before the booking is written; {@link OutboxMessage} explains why.
+     */
+    private void stageBookingPlaced(String bookingId, String email) {
+        outbox.enqueue("booking-placed", bookingId, new BookingPlacedEvent(bookingId, email),
+                Booking.class, bookingId, OutboxMessage.AggregateState.PRESENT);
+    }
+
+    /**
+     * Occurrences of a series ordered by start time, either the explicit slots or the expanded recurrence.
+     */
+    private List<TimeSlot> expandOccurrences(BookingSeriesRequest seriesRequest) {
+        List<TimeSlot> occurrences = new ArrayList<>();
+        BookingSeriesRequest.Recurrence recurrence = seriesRequest.recurrence();
+        if (seriesRequest.slots() != null && !seriesRequest.slots().isEmpty()) {
+            occurrences.addAll(seriesRequest.slots());
+        } else if (recurrence != null && seriesRequest.startTime() != null && seriesRequest.endTime() != null) {
+            if (recurrence.frequency() == null || (recurrence.count() == null && recurrence.until() == null)) {
+                throw BookingServiceException.invalidRequest("Recurrence needs a frequency and either a count or an until date.");
+            }
+            int interval = recurrence.interval() == null ? 1 : recurrence.interval();
+            if (interval < 1) {
+                throw BookingServiceException.invalidRequest("Recurrence interval must be at least 1.");
+            }
+            int count = recurrence.count() == null ? Integer.MAX_VALUE : recurrence.count();
+            Duration length = Duration.between(seriesRequest.startTime(), seriesRequest.endTime());
+            for (int i = 0; i < count; i++) {
+                long step = (long) i * interval;
+                LocalDateTime start = recurrence.frequency() == BookingSeriesRequest.Frequency.WEEKLY
+                        ? seriesRequest.startTime().plusWeeks(step)
+                        : seriesRequest.startTime().plusDays(step);
+                if (recurrence.until() != null && start.toLocalDate().isAfter(recurrence.until())) {
+                    break;
+                }
+                if (occurrences.size() == maxSeriesOccurrences) {
+                    throw BookingServiceException.invalidRequest("A booking series is limited to " + maxSeriesOccurrences + " occurrences.");
+                }
+                occurrences.add(new TimeSlot(start, start.plus(length)));
+            }
+        } else {
+            throw BookingServiceException.invalidRequest("A booking series needs either slots or a start time, end time and recurrence.");
+        }
+
+        if (occurrences.isEmpty() || occurrences.size() > maxSeriesOccurrences) {
+            throw BookingServiceException.invalidRequest("A booking series needs between 1 and " + maxSeriesOccurrences + " occurrences.");
+        }
+        for (TimeSlot occurrence : occurrences) {
+            if (occurrence == null || occurrence.startTime() == null || occurrence.endTime() == null
+                    || !occurrence.startTime().isBefore(occurrence.endTime())) {
+                throw BookingServiceException.invalidRequest("Every occurrence needs a start time before its end time.");
+            }
+        }
+        occurrences.sort(Comparator.comparing(TimeSlot::startTime));
+        LocalDateTime coveredUntil = occurrences.get(0).endTime();
+        for (TimeSlot occurrence : occurrences.subList(1, occurrences.size())) {
+            if (occurrence.startTime().isBefore(coveredUntil)) {
+                throw BookingServiceException.invalidRequest("Occurrences of a series must not overlap; "
+                        + occurrence.startTime() + " starts before an earlier occurrence ends.");
+            }
+            if (occurrence.endTime().isAfter(coveredUntil)) {
+                coveredUntil = occurrence.endTime();
+            }
+        }
+        return occurrences;
     }
 
     private Long parseRoomId(String roomId) {
@@ -192,18 +1037,44 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private void validateRoom(Long roomId) {
+        Room room;
         try {
             log.info("Validating room with ID: {}", roomId);
-            roomServiceClient.getRoomById(roomId);  // Assuming the ID is already a Long
-            log.info("Room with ID: {} validated successfully", roomId);
+            room = roomCatalog.get(roomId);
+        } catch (FeignException.NotFound e) {
+            log.error("Room with ID: {} does not exist", roomId);
+            throw BookingServiceException.roomNotFound("Room not found with ID: " + roomId);
         } catch (Exception e) {
             log.error("Room validation failed for ID: {}, error: {}", roomId, e.getMessage());
             throw BookingServiceException.serviceUnavailable("Service Unavailable");
         }
+        if (room == null) {
+            log.error("Room validation failed for ID: {}, RoomService returned no room", roomId);
+            throw BookingServiceException.serviceUnavailable("Service Unavailable");
+        }
+        if (Boolean.FALSE.equals(room.available())) {
+            log.warn("Room with ID: {} is not available for booking", roomId);
+            throw BookingServiceException.roomNotAvailable("Room with ID: " + roomId + " is not available for booking.");
+        }
+        log.info("Room with ID: {} validated successfully", roomId);
     }
 
 
 
+    private WaitlistResponse mapToWaitlistResponse(WaitlistEntry entry) {
+        boolean waiting = entry.getStatus() == WaitlistEntry.Status.WAITING;
+        return new WaitlistResponse(
+                entry.getId(),
+                entry.getRoomId(),
+                entry.getUserId(),
+                entry.getStartTime(),
+                entry.getEndTime(),
+                entry.getStatus().name(),
+                waiting ? bookingWaitlist.position(entry) : null,
+                entry.getBookingId()
+        );
+    }
+
     private BookingResponse mapToResponse(Booking booking) {
         return new BookingResponse(
                 booking.getId(),
@@ -0,0 +1,10 @@
+package ca.gbc.bookingservice.service;
+
+import ca.gbc.bookingservice.dto.Room;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RoomSearchService {
+    List<Room> findFreeRooms(Integer minCapacity, List<String> features, LocalDateTime from, LocalDateTime to, int limit);
+}
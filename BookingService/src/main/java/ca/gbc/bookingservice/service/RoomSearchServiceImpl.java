@@ -0,0 +1,71 @@
+package ca.gbc.bookingservice.service;
+
+import ca.gbc.bookingservice.catalog.RoomCatalog;
+import ca.gbc.bookingservice.conflict.BookingConflictIndex;
+import ca.gbc.bookingservice.dto.Room;
+import ca.gbc.bookingservice.exception.BookingServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Walks the cached room catalog once, smallest capacity first, keeping rooms that match the attributes and
+ * have no booking in the window. Because of that order the first matches are the best fits, so the walk
+ * stops as soon as {@code limit} rooms are found.
+ */
+@Slf4j
+@Service
+public class RoomSearchServiceImpl implements RoomSearchService {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final RoomCatalog roomCatalog;
+    private final BookingConflictIndex conflictIndex;
+    private final Timer searchTimer;
+
+    public RoomSearchServiceImpl(RoomCatalog roomCatalog, BookingConflictIndex conflictIndex, MeterRegistry meterRegistry) {
+        this.roomCatalog = roomCatalog;
+        this.conflictIndex = conflictIndex;
+        this.searchTimer = Timer.builder("booking.room.search").register(meterRegistry);
+    }
+
+    @Override
+    public List<Room> findFreeRooms(Integer minCapacity, List<String> features, LocalDateTime from, LocalDateTime to, int limit) {
+        log.info("Searching rooms for capacity: {}, features: {} between {} and {}", minCapacity, features, from, to);
+
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw BookingServiceException.invalidRequest("'from' must be before 'to'.");
+        }
+        if (!roomCatalog.isLoaded()) {
+            throw BookingServiceException.serviceUnavailable("Room catalog is not available yet, please retry.");
+        }
+
+        int required = minCapacity == null ? 0 : minCapacity;
+        Set<String> wanted = RoomCatalog.parseFeatures(features == null ? null : String.join(",", features));
+        int maxResults = Math.min(Math.max(limit, 1), MAX_RESULTS);
+
+        return searchTimer.record(() -> {
+            List<Room> matches = new ArrayList<>();
+            for (RoomCatalog.CatalogRoom entry : roomCatalog.rooms()) {
+                Room room = entry.room();
+                if (room.capacity() < required
+                        || Boolean.FALSE.equals(room.available())
+                        || !entry.features().containsAll(wanted)
+                        || !conflictIndex.isFree(String.valueOf(room.id()), from, to)) {
+                    continue;
+                }
+                matches.add(room);
+                if (matches.size() == maxResults) {
+                    break;
+                }
+            }
+            return matches;
+        });
+    }
+}
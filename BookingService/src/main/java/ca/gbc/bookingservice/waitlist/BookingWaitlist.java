@@ -0,0 +1,103 @@
+package ca.gbc.bookingservice.waitlist;
+
+import ca.gbc.common.mongo.QueryProbe;
+import ca.gbc.common.mongo.QueryProbeSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-room FIFO queues of {@link WaitlistEntry}. Every lookup is a range on the
+ * {@code room_status_start} index, so promotion only reads the waiting entries of one room that start
+ * before the freed slot ends.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingWaitlist implements QueryProbeSource {
+
+    private final MongoTemplate mongoTemplate;
+
+    public WaitlistEntry add(WaitlistEntry entry) {
+        return mongoTemplate.insert(entry);
+    }
+
+    public WaitlistEntry find(String id) {
+        return mongoTemplate.findById(id, WaitlistEntry.class);
+    }
+
+    /**
+     * The waiting entry of this user for exactly this slot, so joining twice does not queue twice.
+     */
+    public WaitlistEntry findWaiting(String userId, String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("userId").is(userId)
+                .and("roomId").is(roomId)
+                .and("status").is(WaitlistEntry.Status.WAITING)
+                .and("startTime").is(startTime)
+                .and("endTime").is(endTime)), WaitlistEntry.class);
+    }
+
+    /**
+     * Waiting entries of the room whose slot overlaps {@code [startTime, endTime)}, oldest first.
+     */
+    public List<WaitlistEntry> waitingFor(String roomId, LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        return mongoTemplate.find(waitingQuery(roomId, startTime, endTime, limit), WaitlistEntry.class);
+    }
+
+    /**
+     * How many entries of the room overlap this entry's slot and were queued before it.
+     */
+    public long position(WaitlistEntry entry) {
+        return mongoTemplate.count(Query.query(overlapping(entry.getRoomId(), entry.getStartTime(), entry.getEndTime())
+                .and("createdAt").lt(entry.getCreatedAt())), WaitlistEntry.class) + 1;
+    }
+
+    /**
+     * Moves a waiting entry to {@code status}. Only one caller wins, which keeps replicas from promoting
+     * the same entry twice.
+     *
+     * @return the updated entry, or {@code null} when it was no longer waiting
+     */
+    public WaitlistEntry leaveQueue(String id, WaitlistEntry.Status status, String bookingId) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(id).and("status").is(WaitlistEntry.Status.WAITING)),
+                new Update().set("status", status).set("bookingId", bookingId),
+                FindAndModifyOptions.options().returnNew(true),
+                WaitlistEntry.class);
+    }
+
+    /**
+     * Puts an entry back at its old place in the queue after a promotion that could not be completed.
+     */
+    public void requeue(String id) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(id)),
+                new Update().set("status", WaitlistEntry.Status.WAITING).unset("bookingId"), WaitlistEntry.class);
+    }
+
+    @Override
+    public List<QueryProbe> queryProbes() {
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(new QueryProbe("BookingWaitlist.waitingFor", WaitlistEntry.class,
+                waitingQuery("probe", now, now.plusHours(1), 50)));
+    }
+
+    private static Query waitingQuery(String roomId, LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        return Query.query(overlapping(roomId, startTime, endTime))
+                .with(Sort.by("createdAt", "id"))
+                .limit(limit);
+    }
+
+    private static Criteria overlapping(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        return Criteria.where("roomId").is(roomId)
+                .and("status").is(WaitlistEntry.Status.WAITING)
+                .and("startTime").lt(endTime)
+                .and("endTime").gt(startTime);
+    }
+}
@@ -0,0 +1,44 @@
+package ca.gbc.bookingservice.waitlist;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A request waiting for an occupied slot. Entries of a room are served first come, first served among
+ * those whose slot becomes free, and disappear once the slot has passed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "bookingWaitlist")
+@CompoundIndexes({
+        @CompoundIndex(name = "room_status_start", def = "{'roomId': 1, 'status': 1, 'startTime': 1}"),
+        @CompoundIndex(name = "user_room_status", def = "{'userId': 1, 'roomId': 1, 'status': 1}")
+})
+public class WaitlistEntry {
+
+    public enum Status { WAITING, PROMOTED, CANCELLED }
+
+    @Id
+    private String id;
+    private String roomId;
+    private String userId;
+    private String email;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String purpose;
+    private Status status;
+    private Instant createdAt;
+    private String bookingId;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
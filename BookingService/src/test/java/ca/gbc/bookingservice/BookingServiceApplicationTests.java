@@ -2,8 +2,12 @@ package ca.gbc.bookingservice;
 
 import ca.gbc.bookingservice.Client.RoomServiceFeignClient;
 import ca.gbc.bookingservice.dto.BookingRequest;
+import ca.gbc.bookingservice.dto.BulkCancelRequest;
+import ca.gbc.bookingservice.dto.Room;
 import ca.gbc.bookingservice.model.Booking;
 import ca.gbc.bookingservice.repository.BookingRepository;
+import ca.gbc.bookingservice.waitlist.BookingWaitlist;
+import ca.gbc.bookingservice.waitlist.WaitlistEntry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -22,11 +26,21 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -41,6 +55,9 @@ class BookingServiceApplicationTests {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingWaitlist bookingWaitlist;
+
     private final String jwtSecret = "775367566B5970743373367639792F423F4528482B4D6251655468576D5A713474";
 
     @DynamicPropertySource
@@ -59,12 +76,19 @@ class BookingServiceApplicationTests {
         RestAssured.port = port;
         bookingRepository.deleteAll();
 
-        Mockito.when(roomServiceFeignClient.getRoomById(Mockito.anyString())).thenReturn("Available");
+        Mockito.when(roomServiceFeignClient.getRoomById(Mockito.anyLong()))
+                .thenReturn(new Room(1L, "Room 1", 10, "Projector", true));
     }
 
     private String generateJwtToken(String userId) {
+        return generateJwtToken(userId, null);
+    }
+
+    private String generateJwtToken(String userId, String role) {
         byte[] keyBytes = hexStringToByteArray(jwtSecret);
         return Jwts.builder()
+                .claim("userId", userId)
+                .claim("role", role)
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 3600 * 1000))
@@ -108,6 +132,108 @@ class BookingServiceApplicationTests {
                 .body("purpose", equalTo("Meeting"));
     }
 
+    @Test
+    void testParallelBookingsOfOneSlotLetExactlyOneThrough() throws Exception {
+        int attempts = 8;
+        String jwtToken = generateJwtToken("user123");
+        LocalDateTime start = LocalDateTime.now().plusDays(30).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest bookingRequest = new BookingRequest("user123", "room-race", start, start.plusHours(1), "Meeting");
+
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                Callable<Integer> attempt = () -> {
+                    ready.await();
+                    return given()
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(ContentType.JSON)
+                            .body(bookingRequest)
+                            .when()
+                            .post("/api/bookings")
+                            .then()
+                            .extract().statusCode();
+                };
+                statuses.add(pool.submit(attempt));
+            }
+            ready.countDown();
+
+            int created = 0;
+            for (Future<Integer> status : statuses) {
+                int code = status.get();
+                if (code == 200) {
+                    created++;
+                } else {
+                    assertEquals(409, code);
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(1, bookingRepository.findAll().stream().filter(b -> b.getRoomId().equals("room-race")).count());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRepeatedIdempotencyKeyReplaysTheFirstBooking() {
+        String jwtToken = generateJwtToken("user123");
+        LocalDateTime start = LocalDateTime.now().plusDays(31).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        BookingRequest bookingRequest = new BookingRequest("user123", "room-replay", start, start.plusHours(1), "Meeting");
+
+        String firstId = given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "replay-1")
+                .contentType(ContentType.JSON)
+                .body(bookingRequest)
+                .when()
+                .post("/api/bookings")
+                .then()
+                .statusCode(200)
+                .extract().path("id");
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "replay-1")
+                .contentType(ContentType.JSON)
+                .body(bookingRequest)
+                .when()
+                .post("/api/bookings")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(firstId));
+
+        assertEquals(1, bookingRepository.findAll().stream().filter(b -> b.getRoomId().equals("room-replay")).count());
+    }
+
+    @Test
+    void testIdempotencyKeyReusedForAnotherBookingIsRejected() {
+        String jwtToken = generateJwtToken("user123");
+        LocalDateTime start = LocalDateTime.now().plusDays(32).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "reused-1")
+                .contentType(ContentType.JSON)
+                .body(new BookingRequest("user123", "room-reused", start, start.plusHours(1), "Meeting"))
+                .when()
+                .post("/api/bookings")
+                .then()
+                .statusCode(200);
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "reused-1")
+                .contentType(ContentType.JSON)
+                .body(new BookingRequest("user123", "room-reused", start.plusHours(2), start.plusHours(3), "Meeting"))
+                .when()
+                .post("/api/bookings")
+                .then()
+                .statusCode(422);
+
+        assertEquals(1, bookingRepository.findAll().stream().filter(b -> b.getRoomId().equals("room-reused")).count());
+    }
+
     @Test
     void testGetBookingById() {
         String jwtToken = generateJwtToken("user123");
@@ -132,6 +258,41 @@ class BookingServiceApplicationTests {
                 .body("purpose", equalTo("Meeting"));
     }
 
+    @Test
+    void testGetBookingOwnerReturnsOnlyTheOwner() {
+        String jwtToken = generateJwtToken("user123");
+        Booking booking = bookingRepository.save(new Booking(
+                null,
+                "user123",
+                "room123",
+                LocalDateTime.now(),
+                LocalDateTime.now().plusHours(1),
+                "Meeting"
+        ));
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .when()
+                .get("/api/bookings/" + booking.getId() + "/owner")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(booking.getId()))
+                .body("userId", equalTo("user123"))
+                .body("roomId", nullValue());
+    }
+
+    @Test
+    void testGetBookingOwnerOfAnUnknownBookingIsNotFound() {
+        String jwtToken = generateJwtToken("user123");
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .when()
+                .get("/api/bookings/000000000000000000000000/owner")
+                .then()
+                .statusCode(404);
+    }
+
     @Test
     void testGetAllBookings() {
         bookingRepository.save(new Booking(null, "user123", "room123", LocalDateTime.now(), LocalDateTime.now().plusHours(1), "Meeting"));
@@ -146,6 +307,40 @@ class BookingServiceApplicationTests {
                 .body("size()", greaterThan(1));
     }
 
+    @Test
+    void testUserBookingsArePagedByStartTimeThenId() {
+        String jwtToken = generateJwtToken("user123");
+        LocalDateTime start = LocalDateTime.now().plusDays(34).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        Booking first = bookingRepository.save(new Booking(null, "pager", "room-a", start, start.plusHours(1), "Meeting"));
+        Booking second = bookingRepository.save(new Booking(null, "pager", "room-b", start, start.plusHours(1), "Meeting"));
+        Booking later = bookingRepository.save(new Booking(null, "pager", "room-a", start.minusHours(2).plusDays(1),
+                start.minusHours(1).plusDays(1), "Meeting"));
+
+        String nextCursor = given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .queryParam("userId", "pager")
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/bookings")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(first.getId(), second.getId()))
+                .body("nextCursor", notNullValue())
+                .extract().path("nextCursor");
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .queryParam("userId", "pager")
+                .queryParam("limit", 2)
+                .queryParam("after", nextCursor)
+                .when()
+                .get("/api/bookings")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(later.getId()))
+                .body("nextCursor", nullValue());
+    }
+
     @Test
     void testUpdateBooking() {
         String jwtToken = generateJwtToken("user123");
@@ -178,6 +373,24 @@ class BookingServiceApplicationTests {
                 .body("endTime", notNullValue());
     }
 
+    @Test
+    void testUpdateBookingCannotChangeItsOwner() {
+        String jwtToken = generateJwtToken("user123");
+        LocalDateTime start = LocalDateTime.now().plusDays(33).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        Booking booking = bookingRepository.save(new Booking(null, "user123", "room123", start, start.plusHours(1), "Meeting"));
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(ContentType.JSON)
+                .body(new BookingRequest("user456", "room123", start, start.plusHours(1), "Meeting"))
+                .when()
+                .put("/api/bookings/" + booking.getId())
+                .then()
+                .statusCode(400);
+
+        assertEquals("user123", bookingRepository.findById(booking.getId()).orElseThrow().getUserId());
+    }
+
     @Test
     void testDeleteBooking() {
         String jwtToken = generateJwtToken("user123");
@@ -197,4 +410,71 @@ class BookingServiceApplicationTests {
                 .then()
                 .statusCode(204);
     }
+
+    @Test
+    void testBulkCancelByStaffRemovesTheRoomsBookings() {
+        String jwtToken = generateJwtToken("staff123", "STAFF");
+        LocalDateTime start = LocalDateTime.now().plusDays(36).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        bookingRepository.save(new Booking(null, "user123", "room-bulk", start, start.plusHours(1), "Meeting"));
+        bookingRepository.save(new Booking(null, "user456", "room-bulk", start.plusHours(2), start.plusHours(3), "Meeting"));
+        bookingRepository.save(new Booking(null, "user123", "room-kept", start, start.plusHours(1), "Meeting"));
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(ContentType.JSON)
+                .body(new BulkCancelRequest("room-bulk", null, null, null, "Maintenance", false))
+                .when()
+                .post("/api/bookings/bulk-cancel")
+                .then()
+                .statusCode(200)
+                .body("cancelled", equalTo(2))
+                .body("cancelledByRoom.room-bulk", equalTo(2));
+
+        assertEquals(List.of("room-kept"), bookingRepository.findAll().stream().map(Booking::getRoomId).toList());
+    }
+
+    @Test
+    void testBulkCancelIsForbiddenForARegularUser() {
+        String jwtToken = generateJwtToken("user123", "STUDENT");
+        LocalDateTime start = LocalDateTime.now().plusDays(37).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        bookingRepository.save(new Booking(null, "user123", "room-bulk", start, start.plusHours(1), "Meeting"));
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(ContentType.JSON)
+                .body(new BulkCancelRequest("room-bulk", null, null, null, "Maintenance", false))
+                .when()
+                .post("/api/bookings/bulk-cancel")
+                .then()
+                .statusCode(403);
+
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void testDeletingABookingPromotesTheOldestWaitingEntry() {
+        String jwtToken = generateJwtToken("user123");
+        LocalDateTime start = LocalDateTime.now().plusDays(35).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        Booking booking = bookingRepository.save(new Booking(null, "user123", "room-waitlist", start, start.plusHours(1), "Meeting"));
+        WaitlistEntry first = bookingWaitlist.add(waitingEntry("user456", start, Instant.now().minusSeconds(60)));
+        WaitlistEntry second = bookingWaitlist.add(waitingEntry("user789", start, Instant.now()));
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .when()
+                .delete("/api/bookings/" + booking.getId())
+                .then()
+                .statusCode(204);
+
+        WaitlistEntry promoted = bookingWaitlist.find(first.getId());
+        assertEquals(WaitlistEntry.Status.PROMOTED, promoted.getStatus());
+        assertEquals("user456", bookingRepository.findById(promoted.getBookingId()).orElseThrow().getUserId());
+        assertEquals(WaitlistEntry.Status.WAITING, bookingWaitlist.find(second.getId()).getStatus());
+    }
+
+    private WaitlistEntry waitingEntry(String userId, LocalDateTime start, Instant createdAt) {
+        return new WaitlistEntry(null, "room-waitlist", userId, userId + "@example.com", start, start.plusHours(1),
+                "Meeting", WaitlistEntry.Status.WAITING, createdAt, null,
+                start.plusHours(1).atZone(ZoneId.systemDefault()).toInstant());
+    }
 }
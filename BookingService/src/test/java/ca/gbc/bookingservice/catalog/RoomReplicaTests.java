@@ -0,0 +1,59 @@
+package ca.gbc.bookingservice.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class RoomReplicaTests {
+
+    private final RoomReplica replica = new RoomReplica(mock(KafkaAdmin.class), new SimpleMeterRegistry(),
+            Duration.ofSeconds(5), 2, Duration.ofMinutes(1));
+
+    @Test
+    void staysOutOfServiceUntilTheLagFirstReachesZero() {
+        replica.offsetsRead(Map.of(0, 0L), Map.of(0, 2L));
+        replica.applied(0, 0);
+
+        assertFalse(replica.isCaughtUp());
+        assertEquals(Status.OUT_OF_SERVICE, replica.health().getStatus());
+
+        replica.applied(0, 1);
+
+        assertTrue(replica.isCaughtUp());
+        assertEquals(Status.UP, replica.health().getStatus());
+    }
+
+    @Test
+    void fallingTooFarBehindClearsCaughtUpUntilTheLagIsBackToZero() {
+        replica.offsetsRead(Map.of(0, 0L), Map.of(0, 0L));
+        assertTrue(replica.isCaughtUp());
+
+        replica.offsetsRead(Map.of(0, 0L), Map.of(0, 2L));
+        assertTrue(replica.isCaughtUp());
+
+        replica.offsetsRead(Map.of(0, 0L), Map.of(0, 3L));
+        assertFalse(replica.isCaughtUp());
+        assertEquals(Status.UP, replica.health().getStatus());
+
+        replica.applied(0, 2);
+        assertTrue(replica.isCaughtUp());
+    }
+
+    @Test
+    void recordsCompactedAwayAreNotWaitedFor() {
+        replica.offsetsRead(Map.of(0, 5L), Map.of(0, 6L));
+        replica.applied(0, 5);
+
+        assertEquals(0, replica.lag());
+        assertTrue(replica.isCaughtUp());
+    }
+}
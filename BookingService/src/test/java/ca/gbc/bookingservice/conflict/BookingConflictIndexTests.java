@@ -0,0 +1,122 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.hold.BookingHold;
+import ca.gbc.bookingservice.hold.BookingHoldRepository;
+import ca.gbc.bookingservice.model.Booking;
+import ca.gbc.bookingservice.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.at;
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.ids;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingConflictIndexTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingHoldRepository holdRepository = mock(BookingHoldRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void indexHitDeletedFromMongoIsDroppedOnConfirmation() {
+        BookingConflictIndex index = loadedIndex(ConflictCheckMode.INDEX, true, booking("b1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        when(bookingRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        assertTrue(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30)).isEmpty());
+        assertTrue(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30)).isEmpty());
+
+        verify(bookingRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void verifyModeAnswersFromMongoAndRepairsTheIndex() {
+        BookingConflictIndex index = loadedIndex(ConflictCheckMode.VERIFY, false, booking("b1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        Booking created = booking("b2", at(DAY, 9, 30), at(DAY, 10, 30));
+        when(bookingRepository.findConflictingBookings(eq("room-1"), any(), any())).thenReturn(List.of(created));
+        when(bookingRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        assertEquals(List.of("b2"), ids(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30))));
+        assertEquals(1.0, mismatches());
+
+        assertEquals(List.of("b2"), ids(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30))));
+        assertEquals(1.0, mismatches());
+    }
+
+    @Test
+    void verifyRepairKeepsABookingThatOnlyMovedOutOfTheRange() {
+        BookingConflictIndex index = loadedIndex(ConflictCheckMode.VERIFY, false, booking("b1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        Booking moved = booking("b1", at(DAY, 14, 0), at(DAY, 15, 0));
+        when(bookingRepository.findConflictingBookings(eq("room-1"), eq(at(DAY, 9, 0)), any())).thenReturn(List.of());
+        when(bookingRepository.findConflictingBookings(eq("room-1"), eq(at(DAY, 14, 0)), any())).thenReturn(List.of(moved));
+        when(bookingRepository.findAllById(anyIterable())).thenReturn(List.of(moved));
+
+        assertTrue(index.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 10, 0)).isEmpty());
+        assertEquals(1.0, mismatches());
+
+        assertEquals(List.of("b1"), ids(index.findConflictingBookings("room-1", at(DAY, 14, 0), at(DAY, 15, 0))));
+        assertEquals(1.0, mismatches());
+    }
+
+    @Test
+    void verifyRepairIndexesAHoldFromMongoWithItsDeadline() {
+        BookingConflictIndex index = loadedIndex(ConflictCheckMode.VERIFY, true);
+        BookingHold hold = hold("h1", Instant.now().plusSeconds(300));
+        when(holdRepository.findConflictingHolds(eq("room-1"), any(), any(), any())).thenReturn(List.of(hold));
+        when(holdRepository.findAllById(anyIterable())).thenReturn(List.of(hold));
+
+        assertEquals(List.of(BookingConflictIndex.holdKey("h1")), ids(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30))));
+        assertEquals(1.0, mismatches());
+
+        assertEquals(List.of(BookingConflictIndex.holdKey("h1")), ids(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30))));
+        assertEquals(1.0, mismatches());
+    }
+
+    @Test
+    void verifyRepairDropsAHoldMongoNoLongerHas() {
+        BookingConflictIndex index = loadedIndex(ConflictCheckMode.VERIFY, true);
+        index.registerHold(hold("h1", Instant.now().plusSeconds(300)));
+
+        assertTrue(index.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 10, 30)).isEmpty());
+        assertEquals(1.0, mismatches());
+
+        assertTrue(index.isFree("room-1", at(DAY, 9, 30), at(DAY, 10, 30)));
+        verify(bookingRepository, never()).findAllById(anyIterable());
+    }
+
+    private BookingConflictIndex loadedIndex(ConflictCheckMode mode, boolean confirmHits, Booking... bookings) {
+        when(bookingRepository.findAll()).thenReturn(List.of(bookings));
+        BookingConflictIndex index = new BookingConflictIndex(bookingRepository, holdRepository, meterRegistry, mode, confirmHits,
+                ConflictEngineType.BITMAP);
+        index.load();
+        return index;
+    }
+
+    private double mismatches() {
+        return meterRegistry.get("booking.conflict.index.mismatches").counter().count();
+    }
+
+    private static BookingHold hold(String id, Instant expiresAt) {
+        return new BookingHold(id, "user-1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0), expiresAt);
+    }
+
+    private static Booking booking(String id, LocalDateTime start, LocalDateTime end) {
+        return new Booking(id, "user-1", "room-1", start, end, "Meeting");
+    }
+}
@@ -0,0 +1,56 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.at;
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.interval;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FreeTimeSweepTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void noBookingsLeavesTheWholeWindowFree() {
+        assertEquals(List.of(new TimeSlot(at(DAY, 8, 0), at(DAY, 18, 0))),
+                FreeTimeSweep.freeBetween(List.of(), at(DAY, 8, 0), at(DAY, 18, 0)));
+    }
+
+    @Test
+    void touchingAndOverlappingBookingsMergeIntoOneBusyBlock() {
+        List<BookingInterval> bookings = List.of(
+                interval("b1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)),
+                interval("b2", "room-1", at(DAY, 10, 0), at(DAY, 11, 0)),
+                interval("b3", "room-1", at(DAY, 10, 30), at(DAY, 12, 0)),
+                interval("b4", "room-1", at(DAY, 10, 45), at(DAY, 11, 0))
+        );
+
+        assertEquals(List.of(
+                new TimeSlot(at(DAY, 8, 0), at(DAY, 9, 0)),
+                new TimeSlot(at(DAY, 12, 0), at(DAY, 18, 0))
+        ), FreeTimeSweep.freeBetween(bookings, at(DAY, 8, 0), at(DAY, 18, 0)));
+    }
+
+    @Test
+    void bookingsReachingPastTheWindowAreClipped() {
+        List<BookingInterval> bookings = List.of(
+                interval("before", "room-1", at(DAY.minusDays(1), 22, 0), at(DAY, 9, 0)),
+                interval("after", "room-1", at(DAY, 17, 0), at(DAY.plusDays(1), 2, 0))
+        );
+
+        assertEquals(List.of(new TimeSlot(at(DAY, 9, 0), at(DAY, 17, 0))),
+                FreeTimeSweep.freeBetween(bookings, at(DAY, 8, 0), at(DAY, 18, 0)));
+    }
+
+    @Test
+    void fullyBookedWindowHasNoFreeTime() {
+        List<BookingInterval> bookings = List.of(interval("b1", "room-1", at(DAY, 7, 0), at(DAY, 19, 0)));
+
+        assertTrue(FreeTimeSweep.freeBetween(bookings, at(DAY, 8, 0), at(DAY, 18, 0)).isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalConflictEngineTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private final IntervalConflictEngine engine = new IntervalConflictEngine();
+
+    @Test
+    void touchingIntervalsDoNotConflict() {
+        engine.add(interval("b1", "room-1", at(DAY, 10, 0), at(DAY, 11, 0)));
+
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 10, 0)).isEmpty());
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 11, 0), at(DAY, 12, 0)).isEmpty());
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-1", at(DAY, 10, 59), at(DAY, 12, 0))));
+    }
+
+    @Test
+    void findsLongBookingStartingWellBeforeTheQuery() {
+        engine.add(interval("long", "room-1", at(DAY, 8, 0), at(DAY, 18, 0)));
+        engine.add(interval("short", "room-1", at(DAY, 9, 0), at(DAY, 9, 30)));
+
+        assertEquals(List.of("long"), ids(engine.findConflictingBookings("room-1", at(DAY, 16, 0), at(DAY, 17, 0))));
+    }
+
+    @Test
+    void resultsAreOrderedByStartTimeAndScopedToTheRoom() {
+        engine.add(interval("late", "room-1", at(DAY, 14, 0), at(DAY, 15, 0)));
+        engine.add(interval("early", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        engine.add(interval("other", "room-2", at(DAY, 9, 0), at(DAY, 15, 0)));
+
+        assertEquals(List.of("early", "late"), ids(engine.findConflictingBookings("room-1", at(DAY, 0, 0), at(DAY.plusDays(1), 0, 0))));
+    }
+
+    @Test
+    void bookingCrossingMidnightConflictsOnBothDays() {
+        engine.add(interval("night", "room-1", at(DAY, 22, 0), at(DAY.plusDays(1), 2, 0)));
+
+        assertEquals(List.of("night"), ids(engine.findConflictingBookings("room-1", at(DAY, 23, 0), at(DAY, 23, 30))));
+        assertEquals(List.of("night"), ids(engine.findConflictingBookings("room-1", at(DAY.plusDays(1), 1, 0), at(DAY.plusDays(1), 3, 0))));
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY.plusDays(1), 2, 0), at(DAY.plusDays(1), 3, 0)).isEmpty());
+    }
+
+    @Test
+    void movingABookingReplacesItsInterval() {
+        engine.add(interval("b1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        engine.add(interval("b1", "room-2", at(DAY, 11, 0), at(DAY, 12, 0)));
+
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 10, 0)).isEmpty());
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-2", at(DAY, 11, 0), at(DAY, 12, 0))));
+        assertEquals(1, engine.size());
+    }
+
+    @Test
+    void removeForgetsTheBooking() {
+        engine.add(interval("b1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)));
+
+        assertEquals("b1", engine.remove("b1").bookingId());
+        assertNull(engine.remove("b1"));
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 10, 0)).isEmpty());
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void freeSlotsAreTheGapsOfTheDay() {
+        engine.add(interval("b1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        engine.add(interval("b2", "room-1", at(DAY, 10, 0), at(DAY, 11, 0)));
+
+        assertEquals(List.of(
+                new TimeSlot(at(DAY, 0, 0), at(DAY, 9, 0)),
+                new TimeSlot(at(DAY, 11, 0), at(DAY.plusDays(1), 0, 0))
+        ), engine.freeSlots("room-1", DAY));
+    }
+
+    static BookingInterval interval(String bookingId, String roomId, LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval(bookingId, roomId, start, end);
+    }
+
+    static LocalDateTime at(LocalDate day, int hour, int minute) {
+        return day.atTime(hour, minute);
+    }
+
+    static List<String> ids(List<BookingInterval> intervals) {
+        return intervals.stream().map(BookingInterval::bookingId).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.at;
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.interval;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeriesConflictSweepTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void reportsClashesByOccurrenceIndex() {
+        List<TimeSlot> weekly = List.of(
+                new TimeSlot(at(MONDAY, 9, 0), at(MONDAY, 10, 0)),
+                new TimeSlot(at(MONDAY.plusWeeks(1), 9, 0), at(MONDAY.plusWeeks(1), 10, 0)),
+                new TimeSlot(at(MONDAY.plusWeeks(2), 9, 0), at(MONDAY.plusWeeks(2), 10, 0))
+        );
+        List<BookingInterval> existing = List.of(
+                interval("b1", "room-1", at(MONDAY.plusWeeks(1), 9, 30), at(MONDAY.plusWeeks(1), 11, 0))
+        );
+
+        List<SeriesConflictSweep.Clash> clashes = SeriesConflictSweep.sweep(weekly, existing);
+
+        assertEquals(1, clashes.size());
+        assertEquals(1, clashes.get(0).index());
+        assertEquals(weekly.get(1), clashes.get(0).occurrence());
+        assertEquals(List.of("b1"), clashes.get(0).bookingIds());
+    }
+
+    @Test
+    void touchingBookingsDoNotClash() {
+        List<TimeSlot> occurrences = List.of(new TimeSlot(at(MONDAY, 9, 0), at(MONDAY, 10, 0)));
+        List<BookingInterval> existing = List.of(
+                interval("before", "room-1", at(MONDAY, 8, 0), at(MONDAY, 9, 0)),
+                interval("after", "room-1", at(MONDAY, 10, 0), at(MONDAY, 11, 0))
+        );
+
+        assertTrue(SeriesConflictSweep.sweep(occurrences, existing).isEmpty());
+    }
+
+    @Test
+    void overnightBookingClashesOnlyWithTheOccurrenceItOverlaps() {
+        List<TimeSlot> daily = List.of(
+                new TimeSlot(at(MONDAY, 9, 0), at(MONDAY, 10, 0)),
+                new TimeSlot(at(MONDAY.plusDays(1), 9, 0), at(MONDAY.plusDays(1), 10, 0)),
+                new TimeSlot(at(MONDAY.plusDays(2), 9, 0), at(MONDAY.plusDays(2), 10, 0))
+        );
+        List<BookingInterval> existing = List.of(
+                interval("closure", "room-1", at(MONDAY, 18, 0), at(MONDAY.plusDays(1), 12, 0)),
+                interval("meeting", "room-1", at(MONDAY.plusDays(1), 9, 45), at(MONDAY.plusDays(1), 10, 15))
+        );
+
+        List<SeriesConflictSweep.Clash> clashes = SeriesConflictSweep.sweep(daily, existing);
+
+        assertEquals(1, clashes.size());
+        assertEquals(1, clashes.get(0).index());
+        assertEquals(List.of("closure", "meeting"), clashes.get(0).bookingIds());
+    }
+
+    @Test
+    void equalOccurrencesAreReportedSeparately() {
+        TimeSlot slot = new TimeSlot(at(MONDAY, 9, 0), at(MONDAY, 10, 0));
+        List<BookingInterval> existing = List.of(interval("b1", "room-1", at(MONDAY, 9, 0), at(MONDAY, 9, 15)));
+
+        List<SeriesConflictSweep.Clash> clashes = SeriesConflictSweep.sweep(List.of(slot, slot), existing);
+
+        assertEquals(List.of(0, 1), clashes.stream().map(SeriesConflictSweep.Clash::index).toList());
+    }
+}
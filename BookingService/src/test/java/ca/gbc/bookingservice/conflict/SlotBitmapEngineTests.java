@@ -0,0 +1,113 @@
+package ca.gbc.bookingservice.conflict;
+
+import ca.gbc.bookingservice.dto.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.at;
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.ids;
+import static ca.gbc.bookingservice.conflict.IntervalConflictEngineTests.interval;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotBitmapEngineTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    private final SlotBitmapEngine engine = new SlotBitmapEngine();
+
+    @Test
+    void touchingIntervalsDoNotConflict() {
+        engine.add(interval("b1", "room-1", at(DAY, 10, 0), at(DAY, 11, 0)));
+
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 10, 0)).isEmpty());
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 11, 0), at(DAY, 12, 0)).isEmpty());
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-1", at(DAY, 10, 45), at(DAY, 11, 0))));
+    }
+
+    @Test
+    void bookingAcrossTheWordBoundaryIsSeenFromBothWords() {
+        // slot 63 is the last bit of the first word, slot 64 (16:00) the first bit of the second
+        engine.add(interval("b1", "room-1", at(DAY, 15, 45), at(DAY, 16, 15)));
+
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-1", at(DAY, 15, 45), at(DAY, 16, 0))));
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-1", at(DAY, 16, 0), at(DAY, 16, 15))));
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 15, 30), at(DAY, 15, 45)).isEmpty());
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 16, 15), at(DAY, 16, 30)).isEmpty());
+    }
+
+    @Test
+    void bookingCrossingMidnightMarksTheEndOfOneDayAndTheStartOfTheNext() {
+        engine.add(interval("night", "room-1", at(DAY, 23, 45), at(NEXT_DAY, 0, 15)));
+
+        assertEquals(List.of("night"), ids(engine.findConflictingBookings("room-1", at(DAY, 23, 45), at(NEXT_DAY, 0, 0))));
+        assertEquals(List.of("night"), ids(engine.findConflictingBookings("room-1", at(NEXT_DAY, 0, 0), at(NEXT_DAY, 0, 15))));
+        assertTrue(engine.findConflictingBookings("room-1", at(NEXT_DAY, 0, 15), at(NEXT_DAY, 1, 0)).isEmpty());
+        assertEquals(List.of(new TimeSlot(at(DAY, 0, 0), at(DAY, 23, 45))), engine.freeSlots("room-1", DAY));
+        assertEquals(List.of(new TimeSlot(at(NEXT_DAY, 0, 15), at(NEXT_DAY.plusDays(1), 0, 0))), engine.freeSlots("room-1", NEXT_DAY));
+    }
+
+    @Test
+    void bookingEndingAtMidnightLeavesTheNextDayFree() {
+        engine.add(interval("all-day", "room-1", at(DAY, 0, 0), at(NEXT_DAY, 0, 0)));
+
+        assertTrue(engine.freeSlots("room-1", DAY).isEmpty());
+        assertEquals(List.of(new TimeSlot(at(NEXT_DAY, 0, 0), at(NEXT_DAY.plusDays(1), 0, 0))), engine.freeSlots("room-1", NEXT_DAY));
+        assertTrue(engine.findConflictingBookings("room-1", at(NEXT_DAY, 0, 0), at(NEXT_DAY, 0, 15)).isEmpty());
+    }
+
+    @Test
+    void offGridBookingBlocksItsWholeSlotButOnlyRealOverlapsConflict() {
+        engine.add(interval("b1", "room-1", at(DAY, 10, 5), at(DAY, 10, 10)));
+
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-1", at(DAY, 10, 0), at(DAY, 10, 15))));
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 10, 10), at(DAY, 10, 15)).isEmpty());
+        assertEquals(List.of(
+                new TimeSlot(at(DAY, 0, 0), at(DAY, 10, 0)),
+                new TimeSlot(at(DAY, 10, 15), at(NEXT_DAY, 0, 0))
+        ), engine.freeSlots("room-1", DAY));
+    }
+
+    @Test
+    void removingOneOfTwoBookingsKeepsTheSharedSlotsOccupied() {
+        engine.add(interval("b1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        engine.add(interval("b2", "room-1", at(DAY, 9, 30), at(DAY, 10, 30)));
+
+        engine.remove("b1");
+
+        assertEquals(List.of("b2"), ids(engine.findConflictingBookings("room-1", at(DAY, 9, 30), at(DAY, 9, 45))));
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 9, 30)).isEmpty());
+    }
+
+    @Test
+    void movingABookingFreesItsOldSlots() {
+        engine.add(interval("b1", "room-1", at(DAY, 9, 0), at(DAY, 10, 0)));
+        engine.add(interval("b1", "room-1", at(DAY, 14, 0), at(DAY, 15, 0)));
+
+        assertTrue(engine.findConflictingBookings("room-1", at(DAY, 9, 0), at(DAY, 10, 0)).isEmpty());
+        assertEquals(List.of("b1"), ids(engine.findConflictingBookings("room-1", at(DAY, 14, 0), at(DAY, 15, 0))));
+    }
+
+    @Test
+    void removeAllClearsEveryTouchedDay() {
+        engine.add(interval("b1", "room-1", at(DAY, 22, 0), at(NEXT_DAY, 2, 0)));
+        engine.add(interval("b2", "room-1", at(NEXT_DAY, 9, 0), at(NEXT_DAY, 10, 0)));
+
+        assertEquals(2, engine.removeAll(List.of("b1", "b2", "unknown")).size());
+
+        assertEquals(0, engine.size());
+        assertEquals(1, engine.freeSlots("room-1", DAY).size());
+        assertEquals(1, engine.freeSlots("room-1", NEXT_DAY).size());
+    }
+
+    @Test
+    void alignmentFollowsTheQuarterHourGrid() {
+        assertTrue(SlotBitmapEngine.isAligned(at(DAY, 16, 45)));
+        assertFalse(SlotBitmapEngine.isAligned(at(DAY, 16, 50)));
+        assertFalse(SlotBitmapEngine.isAligned(at(DAY, 16, 45).plusSeconds(1)));
+    }
+}
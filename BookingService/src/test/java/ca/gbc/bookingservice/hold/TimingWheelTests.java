@@ -0,0 +1,67 @@
+package ca.gbc.bookingservice.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTests {
+
+    private static final Instant START = Instant.parse("2025-03-10T09:00:00Z");
+
+    // four one-second buckets: one rotation is four seconds
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), 4, START);
+
+    @Test
+    void expiresKeyOnceItsDeadlinePasses() {
+        wheel.schedule("hold-1", START.plusMillis(2500));
+
+        assertTrue(wheel.advance(START.plusSeconds(2)).isEmpty());
+        assertEquals(List.of("hold-1"), wheel.advance(START.plusSeconds(3)));
+        assertTrue(wheel.advance(START.plusSeconds(4)).isEmpty());
+    }
+
+    @Test
+    void keyDueAfterAFullRotationSurvivesTheEarlierPassOverItsBucket() {
+        // tick 10 shares its bucket with ticks 2 and 6
+        wheel.schedule("hold-1", START.plusSeconds(10));
+
+        assertTrue(wheel.advance(START.plusSeconds(2)).isEmpty());
+        assertTrue(wheel.advance(START.plusSeconds(6)).isEmpty());
+        assertTrue(wheel.advance(START.plusSeconds(9)).isEmpty());
+        assertEquals(List.of("hold-1"), wheel.advance(START.plusSeconds(10)));
+    }
+
+    @Test
+    void advancingMoreThanARotationAtOnceExpiresEverythingDue() {
+        wheel.schedule("hold-1", START.plusSeconds(1));
+        wheel.schedule("hold-2", START.plusSeconds(7));
+        wheel.schedule("hold-3", START.plusSeconds(30));
+
+        List<String> expired = wheel.advance(START.plusSeconds(20));
+
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("hold-1", "hold-2")));
+        assertEquals(List.of("hold-3"), wheel.advance(START.plusSeconds(30)));
+    }
+
+    @Test
+    void deadlineAlreadyPassedExpiresOnTheNextTick() {
+        wheel.advance(START.plusSeconds(5));
+        wheel.schedule("hold-1", START.plusSeconds(1));
+
+        assertEquals(List.of("hold-1"), wheel.advance(START.plusSeconds(6)));
+    }
+
+    @Test
+    void cancelledKeyNeverExpires() {
+        wheel.schedule("hold-1", START.plusSeconds(3));
+        wheel.cancel("hold-1", START.plusSeconds(3));
+
+        assertTrue(wheel.advance(START.plusSeconds(10)).isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package ca.gbc.bookingservice.identity;
+
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.identity.CallerIdentity;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.identity.SubjectLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CallerIdentityResolverTests {
+
+    private static final SubjectLookup NOT_CALLED = (authorization, subject) -> fail("UserService was asked about " + subject);
+
+    private final UserDirectory userDirectory = new UserDirectory(new SimpleMeterRegistry());
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void userIdClaimIsUsedWithoutAnyLookup() {
+        authenticate(Map.of("userId", "42", "role", "STUDENT"));
+
+        assertEquals(Optional.of(new CallerIdentity("42", "STUDENT")), resolver(NOT_CALLED).current());
+    }
+
+    @Test
+    void subjectIsMappedThroughTheUserDirectory() {
+        userDirectory.apply("42", new UserDirectory.DirectoryUser("STAFF", true, "staff@gbc.ca", "kc-42"), Instant.now());
+        authenticate(Map.of("role", "STAFF"));
+
+        assertEquals(Optional.of(new CallerIdentity("42", "STAFF")), resolver(NOT_CALLED).current());
+    }
+
+    @Test
+    void subjectTheDirectoryDoesNotKnowIsAskedOfUserService() {
+        authenticate(Map.of());
+        SubjectLookup userService = (authorization, subject) -> {
+            assertEquals("Bearer token", authorization);
+            return "kc-42".equals(subject) ? new CallerIdentity("42", "FACULTY") : null;
+        };
+
+        assertEquals(Optional.of(new CallerIdentity("42", "FACULTY")), resolver(userService).current());
+    }
+
+    @Test
+    void subjectThatBelongsToNoUserResolvesToNoCaller() {
+        authenticate(Map.of("role", "STAFF"));
+
+        assertTrue(resolver((authorization, subject) -> null).current().isEmpty());
+        assertTrue(resolver((authorization, subject) -> {
+            throw new IllegalStateException("UserService is down");
+        }).current().isEmpty());
+    }
+
+    @Test
+    void subjectMovedToAnotherAccountNoLongerMapsToTheUser() {
+        userDirectory.apply("42", new UserDirectory.DirectoryUser("STAFF", true, "staff@gbc.ca", "kc-42"), Instant.now());
+        userDirectory.apply("42", new UserDirectory.DirectoryUser("STAFF", true, "staff@gbc.ca", "kc-relinked"), Instant.now());
+        authenticate(Map.of("role", "STAFF"));
+
+        assertTrue(resolver((authorization, subject) -> null).current().isEmpty());
+    }
+
+    @Test
+    void realmRoleIsTheFirstConfiguredRoleTheCallerHolds() {
+        authenticate(Map.of("userId", "42", "realm_access", Map.of("roles", List.of("offline_access", "staff", "admin"))));
+
+        assertEquals(Optional.of(new CallerIdentity("42", "ADMIN")), resolver(NOT_CALLED).current());
+    }
+
+    private CallerIdentityResolver resolver(SubjectLookup subjectLookup) {
+        return new CallerIdentityResolver(userDirectory, subjectLookup, "userId", "role",
+                List.of("ADMIN", "STAFF", "FACULTY", "STUDENT"));
+    }
+
+    private void authenticate(Map<String, Object> claims) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject("kc-42")
+                .claims(all -> all.putAll(claims))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+}
@@ -1,13 +1,26 @@
 package ca.gbc.eventservice.Client;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.eventservice.dto.BookingOwner;
 import ca.gbc.eventservice.dto.Bookings;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.Collection;
+
 @FeignClient(name = "booking-service", url = "${BOOKING_SERVICE_URL}")
 public interface BookingServiceFeignClient {
     @GetMapping("/api/bookings/{id}")
     Bookings getBookingById(@RequestHeader("Authorization") String authorization, @PathVariable("id") String bookingId);
+
+    @GetMapping("/api/bookings/{id}/owner")
+    BookingOwner getBookingOwner(@RequestHeader("Authorization") String authorization, @PathVariable("id") String bookingId);
+
+    @PostMapping("/api/bookings/batch")
+    BatchLookupResponse<Bookings, String> getBookingsByIds(@RequestHeader("Authorization") String authorization,
+                                                           @RequestBody Collection<String> bookingIds);
 }
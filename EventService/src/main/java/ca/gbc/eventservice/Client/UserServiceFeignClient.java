@@ -1,13 +1,29 @@
 package ca.gbc.eventservice.Client;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.eventservice.dto.UserRole;
 import ca.gbc.eventservice.dto.Users;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.Collection;
+
 @FeignClient(name = "user-service", url = "${USER_SERVICE_URL}")
 public interface UserServiceFeignClient {
     @GetMapping("/api/users/{id}")
     Users getUserById(@RequestHeader("Authorization") String authorization, @PathVariable("id") String userId);
+
+    @GetMapping("/api/users/{id}/role")
+    UserRole getUserRole(@RequestHeader("Authorization") String authorization, @PathVariable("id") String userId);
+
+    @GetMapping("/api/users/subjects/{subject}/role")
+    UserRole getUserRoleBySubject(@RequestHeader("Authorization") String authorization, @PathVariable("subject") String subject);
+
+    @PostMapping("/api/users/batch")
+    BatchLookupResponse<Users, Long> getUsersByIds(@RequestHeader("Authorization") String authorization,
+                                                   @RequestBody Collection<Long> userIds);
 }
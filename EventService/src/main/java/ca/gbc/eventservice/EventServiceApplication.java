@@ -1,11 +1,24 @@
 package ca.gbc.eventservice;
 
+import ca.gbc.common.client.DownstreamCalls;
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.idempotency.IdempotencyStore;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.mongo.QueryPlanVerifier;
+import ca.gbc.common.outbox.MeteredKafkaSender;
+import ca.gbc.common.outbox.Outbox;
+import ca.gbc.common.outbox.OutboxRelay;
+import ca.gbc.common.security.CachingJwtDecoder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
+@Import({QueryPlanVerifier.class, IdempotencyStore.class, DownstreamCalls.class, MeteredKafkaSender.class, Outbox.class, OutboxRelay.class, UserDirectory.class, CallerIdentityResolver.class, CachingJwtDecoder.class})
 public class EventServiceApplication {
 
     public static void main(String[] args) {
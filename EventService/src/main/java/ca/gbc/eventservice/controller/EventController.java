@@ -1,10 +1,17 @@
 package ca.gbc.eventservice.controller;
 
+import ca.gbc.common.idempotency.IdempotencyStore;
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
+import ca.gbc.common.web.NdjsonStream;
 import ca.gbc.eventservice.dto.EventRequest;
 import ca.gbc.eventservice.dto.EventResponse;
 import ca.gbc.eventservice.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,16 +20,22 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, ObjectMapper objectMapper, IdempotencyStore idempotencyStore) {
         this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping
     public ResponseEntity<EventResponse> createEvent(
             @RequestBody EventRequest eventRequest,
-            @RequestHeader("Authorization") String authorization) {
-        EventResponse event = eventService.createEvent(eventRequest, authorization);
+            @RequestHeader("Authorization") String authorization,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        EventResponse event = idempotencyStore.execute("createEvent", idempotencyKey, eventRequest,
+                EventResponse.class, () -> eventService.createEvent(eventRequest, authorization));
         return ResponseEntity.ok(event);
     }
 
@@ -46,6 +59,32 @@ public class EventController {
         return ResponseEntity.ok(eventService.getAllEvents());
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookupResponse<EventResponse, String>> getEventsByIds(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(eventService.getEventsByIds(ids));
+    }
+
+    @GetMapping(params = "organizerId")
+    public ResponseEntity<CursorPage<EventResponse>> getEventsByOrganizer(
+            @RequestParam String organizerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(eventService.getEventsByOrganizer(organizerId, after, limit));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<EventResponse>> getEventsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(eventService.getEventsPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEvents() {
+        StreamingResponseBody body = NdjsonStream.of(objectMapper, eventService::streamAllEvents);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(
             @PathVariable String id,
@@ -0,0 +1,6 @@
+package ca.gbc.eventservice.dto;
+
+public record BookingOwner(
+        String id,
+        String userId
+) {}
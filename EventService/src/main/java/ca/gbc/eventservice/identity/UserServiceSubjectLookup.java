@@ -0,0 +1,24 @@
+package ca.gbc.eventservice.identity;
+
+import ca.gbc.common.identity.CallerIdentity;
+import ca.gbc.common.identity.SubjectLookup;
+import ca.gbc.eventservice.Client.UserServiceFeignClient;
+import ca.gbc.eventservice.dto.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps Keycloak subjects that the user directory does not know yet through UserService.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserServiceSubjectLookup implements SubjectLookup {
+
+    private final UserServiceFeignClient userServiceFeignClient;
+
+    @Override
+    public CallerIdentity findBySubject(String authorization, String subject) {
+        UserRole user = userServiceFeignClient.getUserRoleBySubject(authorization, subject);
+        return user == null ? null : new CallerIdentity(user.id(), user.role());
+    }
+}
@@ -3,17 +3,21 @@ package ca.gbc.eventservice.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "events")
 @AllArgsConstructor
+@CompoundIndex(name = "organizer_id", def = "{'organizerId': 1, '_id': 1}")
 public class Event {
     @Id
     private String id;
     private String organizerId;
     private String eventName;
     private String eventType;
+    @Indexed
     private String bookingId;
     private int expectedAttendees;
 
@@ -1,10 +1,25 @@
 package ca.gbc.eventservice.repository;
 
 import ca.gbc.eventservice.model.Event;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface EventRepository extends MongoRepository<Event, String> {
 
+    List<Event> findAllBy(Pageable pageable);
+
+    List<Event> findByIdGreaterThan(String id, Pageable pageable);
+
+    List<Event> findByOrganizerId(String organizerId, Pageable pageable);
+
+    List<Event> findByOrganizerIdAndIdGreaterThan(String organizerId, String id, Pageable pageable);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Event> streamAllBy();
 }
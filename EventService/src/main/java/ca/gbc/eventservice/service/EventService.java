@@ -1,14 +1,22 @@
 package ca.gbc.eventservice.service;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 import ca.gbc.eventservice.dto.EventRequest;
 import ca.gbc.eventservice.dto.EventResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventService {
     EventResponse createEvent(EventRequest eventRequest, String organizerId);
     EventResponse getEventById(String id);
     List<EventResponse> getAllEvents();
+    BatchLookupResponse<EventResponse, String> getEventsByIds(Collection<String> ids);
+    CursorPage<EventResponse> getEventsPage(String after, int limit);
+    CursorPage<EventResponse> getEventsByOrganizer(String organizerId, String after, int limit);
+    void streamAllEvents(Consumer<EventResponse> sink);
     EventResponse updateEvent(String id, EventRequest eventRequest, String organizerId);
     void deleteEvent(String id, String organizerId);
 }
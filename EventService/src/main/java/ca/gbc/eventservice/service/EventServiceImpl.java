@@ -1,24 +1,42 @@
 package ca.gbc.eventservice.service;
 
-import ca.gbc.eventservice.dto.Bookings;
-import ca.gbc.eventservice.dto.EventRequest;
-import ca.gbc.eventservice.dto.EventResponse;
-import ca.gbc.eventservice.dto.Users;
+import ca.gbc.common.client.DownstreamCalls;
+import ca.gbc.common.directory.UserDirectory;
+import ca.gbc.common.identity.CallerIdentity;
+import ca.gbc.common.identity.CallerIdentityResolver;
+import ca.gbc.common.outbox.Outbox;
+import ca.gbc.common.outbox.OutboxMessage;
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 import ca.gbc.eventservice.Client.BookingServiceFeignClient;
 import ca.gbc.eventservice.Client.UserServiceFeignClient;
+import ca.gbc.eventservice.dto.BookingOwner;
+import ca.gbc.eventservice.dto.EventRequest;
+import ca.gbc.eventservice.dto.EventResponse;
+import ca.gbc.eventservice.dto.UserRole;
+import ca.gbc.eventservice.event.EventPlacedEvent;
 import ca.gbc.eventservice.model.Event;
 import ca.gbc.eventservice.repository.EventRepository;
-import ca.gbc.eventservice.event.EventPlacedEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -26,8 +44,14 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
     private final UserServiceFeignClient userServiceFeignClient;
+    private final UserDirectory userDirectory;
+    private final CallerIdentityResolver callerIdentities;
     private final BookingServiceFeignClient bookingServiceFeignClient;
-    private final KafkaTemplate<String, EventPlacedEvent> kafkaTemplate;
+    private final Outbox outbox;
+    private final DownstreamCalls downstreamCalls;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
 
     private static final Map<String, Integer> ROLE_LIMITATIONS = Map.of(
             "STAFF", 100,
@@ -38,25 +62,40 @@ public class EventServiceImpl implements EventService {
     @Autowired
     public EventServiceImpl(EventRepository eventRepository,
                             UserServiceFeignClient userServiceFeignClient,
+                            UserDirectory userDirectory,
+                            CallerIdentityResolver callerIdentities,
                             BookingServiceFeignClient bookingServiceFeignClient,
-                            KafkaTemplate<String, EventPlacedEvent> kafkaTemplate) {
+                            Outbox outbox,
+                            DownstreamCalls downstreamCalls) {
         this.eventRepository = eventRepository;
         this.userServiceFeignClient = userServiceFeignClient;
+        this.userDirectory = userDirectory;
+        this.callerIdentities = callerIdentities;
         this.bookingServiceFeignClient = bookingServiceFeignClient;
-        this.kafkaTemplate = kafkaTemplate;
+        this.outbox = outbox;
+        this.downstreamCalls = downstreamCalls;
     }
 
     @Override
     public EventResponse createEvent(EventRequest eventRequest, String authorization) {
         log.info("Creating event with organizer ID: {}", eventRequest.organizerId());
 
-        validateUser(authorization, eventRequest.organizerId());
-        validateBookingAndOwnership(authorization, eventRequest.bookingId(), eventRequest.organizerId());
-        String userRole = getUserRole(authorization, eventRequest.organizerId());
+        // an organizer creating their own event is described by their token; others are looked up
+        String userRole;
+        Optional<UserRole> claimed = claimedUserRole(eventRequest.organizerId());
+        try (DownstreamCalls.Scope calls = downstreamCalls.open()) {
+            CompletableFuture<UserRole> organizer = claimed.map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> calls.call("user:" + eventRequest.organizerId(),
+                            () -> validateUser(authorization, eventRequest.organizerId())));
+            calls.run("booking:" + eventRequest.bookingId(),
+                    () -> validateBookingAndOwnership(authorization, eventRequest.bookingId(), eventRequest.organizerId()));
+            calls.awaitAll();
+            userRole = calls.join(organizer).role();
+        }
         validateMaxAttendees(userRole, eventRequest.expectedAttendees());
 
         Event event = new Event(
-                null,
+                new ObjectId().toHexString(),
                 eventRequest.organizerId(),
                 eventRequest.eventName(),
                 eventRequest.eventType(),
@@ -64,12 +103,13 @@ public class EventServiceImpl implements EventService {
                 eventRequest.expectedAttendees()
         );
 
+        // staged first so the relay never misses an event that was saved; see OutboxMessage
+        String userEmail = eventRequest.userDetails().email();
+        outbox.enqueue("event-placed", event.getId(), new EventPlacedEvent(event.getId(), userEmail),
+                Event.class, event.getId(), OutboxMessage.AggregateState.PRESENT);
+
         Event savedEvent = eventRepository.save(event);
         log.info("Event created successfully with ID: {}", savedEvent.getId());
-        String userEmail = eventRequest.userDetails().email();
-        EventPlacedEvent eventPlacedEvent = new EventPlacedEvent(savedEvent.getId(), userEmail);
-        kafkaTemplate.send("event-placed", eventPlacedEvent.getEventId(), eventPlacedEvent);
-        log.info("Published event placed message for Event ID: {}", savedEvent.getId());
 
         return mapToResponse(savedEvent);
     }
@@ -82,9 +122,16 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
 
-        validateUser(authorization, event.getOrganizerId());
-        validateBooking(authorization, eventRequest.bookingId());
-        String userRole = getUserRole(authorization, event.getOrganizerId());
+        String userRole;
+        Optional<UserRole> claimed = claimedUserRole(event.getOrganizerId());
+        try (DownstreamCalls.Scope calls = downstreamCalls.open()) {
+            CompletableFuture<UserRole> organizer = claimed.map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> calls.call("user:" + event.getOrganizerId(),
+                            () -> validateUser(authorization, event.getOrganizerId())));
+            calls.run("booking:" + eventRequest.bookingId(), () -> validateBooking(authorization, eventRequest.bookingId()));
+            calls.awaitAll();
+            userRole = calls.join(organizer).role();
+        }
         validateMaxAttendees(userRole, eventRequest.expectedAttendees());
 
         event.setEventName(eventRequest.eventName());
@@ -121,6 +168,63 @@ public class EventServiceImpl implements EventService {
         return events;
     }
 
+    @Override
+    public BatchLookupResponse<EventResponse, String> getEventsByIds(Collection<String> ids) {
+        Collection<String> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " events can be looked up at once");
+        }
+        log.info("Fetching {} events by ID", requested.size());
+
+        List<EventResponse> events = eventRepository.findAllById(requested).stream()
+                .map(this::mapToResponse)
+                .toList();
+        return BatchLookupResponse.of(requested, events, EventResponse::id);
+    }
+
+    @Override
+    public CursorPage<EventResponse> getEventsPage(String after, int limit) {
+        log.info("Fetching events page after: {}, limit: {}", after, limit);
+
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + after);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by("id"));
+        List<Event> events = after == null
+                ? eventRepository.findAllBy(pageable)
+                : eventRepository.findByIdGreaterThan(after, pageable);
+
+        return CursorPage.of(events, pageSize, Event::getId, this::mapToResponse);
+    }
+
+    @Override
+    public CursorPage<EventResponse> getEventsByOrganizer(String organizerId, String after, int limit) {
+        log.info("Fetching events for organizer ID: {} after: {}, limit: {}", organizerId, after, limit);
+
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + after);
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by("id"));
+        List<Event> events = after == null
+                ? eventRepository.findByOrganizerId(organizerId, pageable)
+                : eventRepository.findByOrganizerIdAndIdGreaterThan(organizerId, after, pageable);
+
+        return CursorPage.of(events, pageSize, Event::getId, this::mapToResponse);
+    }
+
+    @Override
+    public void streamAllEvents(Consumer<EventResponse> sink) {
+        log.info("Streaming all events");
+
+        try (Stream<Event> events = eventRepository.streamAllBy()) {
+            events.map(this::mapToResponse).forEach(sink);
+        }
+    }
+
     @Override
     public void deleteEvent(String id, String authorization) {
         log.info("Deleting event with ID: {}", id);
@@ -138,19 +242,39 @@ public class EventServiceImpl implements EventService {
         log.info("Event with ID: {} deleted successfully", id);
     }
 
-    private void validateUser(String authorization, String userId) {
+    /**
+     * The user as the caller's token describes it, when the caller is that user and the token names a
+     * role; empty when the role has to be looked up.
+     */
+    private Optional<UserRole> claimedUserRole(String userId) {
+        return callerIdentities.claimedUser(userId).map(caller -> new UserRole(userId, caller.role(), true));
+    }
+
+    /**
+     * Reads the user from the local directory when it is known there and from UserService otherwise.
+     * A deactivated user is rejected exactly like an unknown one.
+     */
+    private UserRole validateUser(String authorization, String userId) {
+        UserRole user;
         try {
-            userServiceFeignClient.getUserById(authorization, userId);
-            log.info("User ID: {} validated successfully", userId);
+            user = userDirectory.find(userId)
+                    .map(known -> new UserRole(userId, known.role(), known.active()))
+                    .orElseGet(() -> userServiceFeignClient.getUserRole(authorization, userId));
         } catch (Exception e) {
             log.error("User validation failed for User ID: {}", userId, e);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid User ID: " + userId, e);
         }
+        if (!user.active()) {
+            log.error("User ID: {} is deactivated", userId);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid User ID: " + userId);
+        }
+        log.info("User ID: {} validated successfully", userId);
+        return user;
     }
 
     private void validateBooking(String authorization, String bookingId) {
         try {
-            bookingServiceFeignClient.getBookingById(authorization, bookingId);
+            bookingServiceFeignClient.getBookingOwner(authorization, bookingId);
             log.info("Booking ID: {} validated successfully", bookingId);
         } catch (Exception e) {
             log.error("Booking validation failed for Booking ID: {}", bookingId, e);
@@ -160,7 +284,7 @@ public class EventServiceImpl implements EventService {
 
     private void validateBookingAndOwnership(String authorization, String bookingId, String organizerId) {
         try {
-            Bookings booking = bookingServiceFeignClient.getBookingById(authorization, bookingId);
+            BookingOwner booking = bookingServiceFeignClient.getBookingOwner(authorization, bookingId);
             if (!booking.userId().equals(organizerId)) {
                 log.error("Booking ID: {} does not belong to Organizer ID: {}", bookingId, organizerId);
                 throw new AccessDeniedException("Booking does not belong to the organizer.");
@@ -174,8 +298,10 @@ public class EventServiceImpl implements EventService {
 
     private String getUserRole(String authorization, String userId) {
         try {
-            Users user = userServiceFeignClient.getUserById(authorization, userId);
-            return user.role();
+            return callerIdentities.claimedUser(userId)
+                    .map(CallerIdentity::role)
+                    .or(() -> userDirectory.find(userId).map(UserDirectory.DirectoryUser::role))
+                    .orElseGet(() -> userServiceFeignClient.getUserRole(authorization, userId).role());
         } catch (Exception e) {
             log.error("Failed to fetch user role for User ID: {}", userId, e);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Invalid User ID: " + userId, e);
@@ -184,8 +310,7 @@ public class EventServiceImpl implements EventService {
 
     private String getUserIdFromBooking(String authorization, String bookingId) {
         try {
-            Bookings booking = bookingServiceFeignClient.getBookingById(authorization, bookingId);
-            return booking.userId();
+            return bookingServiceFeignClient.getBookingOwner(authorization, bookingId).userId();
         } catch (Exception e) {
             log.error("Failed to fetch user ID from booking with ID: {}", bookingId, e);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Invalid Booking ID: " + bookingId, e);
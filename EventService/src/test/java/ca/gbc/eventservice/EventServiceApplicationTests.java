@@ -2,10 +2,10 @@ package ca.gbc.eventservice;
 
 import ca.gbc.eventservice.Client.BookingServiceFeignClient;
 import ca.gbc.eventservice.Client.UserServiceFeignClient;
-import ca.gbc.eventservice.dto.Bookings;
+import ca.gbc.eventservice.dto.BookingOwner;
 import ca.gbc.eventservice.dto.EventRequest;
 import ca.gbc.eventservice.dto.EventResponse;
-import ca.gbc.eventservice.dto.Users;
+import ca.gbc.eventservice.dto.UserRole;
 import ca.gbc.eventservice.repository.EventRepository;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -31,6 +31,7 @@ import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -65,10 +66,10 @@ class EventServiceApplicationTests {
         RestAssured.baseURI = "http://localhost";
         RestAssured.port = port;
         eventRepository.deleteAll();
-        Mockito.when(bookingServiceFeignClient.getBookingById(Mockito.anyString(), Mockito.anyString()))
-                .thenReturn(new Bookings("bookingId", "organizer123@example.com", "roomId"));
-        Mockito.when(userServiceFeignClient.getUserById(Mockito.anyString(), Mockito.anyString()))
-                .thenReturn(new Users("organizer123", "STAFF", "organizer123@example.com"));
+        Mockito.when(bookingServiceFeignClient.getBookingOwner(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(new BookingOwner("bookingId", "organizer123@example.com"));
+        Mockito.when(userServiceFeignClient.getUserRole(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(new UserRole("organizer123", "STAFF", true));
     }
 
     private String generateJwtToken(String userId, String role) {
@@ -119,6 +120,34 @@ class EventServiceApplicationTests {
                 .body("eventType", equalTo("Conference"));
     }
 
+    @Test
+    void testCreateEventByADeactivatedOrganizerIsRejectedLikeAnUnknownOne() {
+        String jwtToken = generateJwtToken("organizer123", "STAFF");
+        Mockito.when(bookingServiceFeignClient.getBookingOwner(Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> new BookingOwner(invocation.getArgument(1), invocation.getArgument(1)));
+        Mockito.when(userServiceFeignClient.getUserRole(Mockito.anyString(), Mockito.eq("organizer123")))
+                .thenReturn(new UserRole("organizer123", "STAFF", false));
+        Mockito.when(userServiceFeignClient.getUserRole(Mockito.anyString(), Mockito.eq("unknown123")))
+                .thenThrow(new RuntimeException("User not found"));
+
+        for (String organizerId : new String[]{"organizer123", "unknown123"}) {
+            // each organizer owns the booking named after them, so only the user check can fail
+            EventRequest eventRequest = new EventRequest(organizerId, "Sample Event", "Conference", organizerId, 10,
+                    new EventRequest.UserDetails("organizer@example.com", "Org", "Anizer"));
+
+            given()
+                    .header("Authorization", "Bearer " + jwtToken)
+                    .contentType(ContentType.JSON)
+                    .body(eventRequest)
+                    .when()
+                    .post("/api/events")
+                    .then()
+                    .statusCode(401);
+        }
+
+        assertEquals(0, eventRepository.count());
+    }
+
     @Test
     void testGetEventById() {
         String jwtToken = generateJwtToken("organizer123", "STAFF");
@@ -0,0 +1,26 @@
+package ca.gbc.roomservice.config;
+
+import ca.gbc.roomservice.event.RoomChangedEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    /**
+     * Compaction keeps the latest record per room, so the topic itself is a full catalog that a
+     * consumer can load at startup.
+     */
+    @Bean
+    public NewTopic roomsTopic(@Value("${rooms.topic.partitions:1}") int partitions,
+                               @Value("${rooms.topic.replicas:1}") int replicas) {
+        return TopicBuilder.name(RoomChangedEvent.TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .compact()
+                .build();
+    }
+}
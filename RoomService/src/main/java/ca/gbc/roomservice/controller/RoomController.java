@@ -1,14 +1,19 @@
 package ca.gbc.roomservice.controller;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
+import ca.gbc.common.web.NdjsonStream;
 import ca.gbc.roomservice.dto.RoomRequest;
 import ca.gbc.roomservice.dto.RoomResponse;
 import ca.gbc.roomservice.service.RoomService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +23,7 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService roomService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
@@ -25,6 +31,25 @@ public class RoomController {
         return roomService.getAllRooms();
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchLookupResponse<RoomResponse, Long> getRoomsByIds(@RequestBody List<Long> ids) {
+        return roomService.getRoomsByIds(ids);
+    }
+
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<RoomResponse> getRoomsPage(@RequestParam(required = false) Long after,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        return roomService.getRoomsPage(after, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRooms() {
+        StreamingResponseBody body = NdjsonStream.of(objectMapper, roomService::streamAllRooms);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{roomId}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<RoomResponse> getRoomById(@PathVariable("roomId") Long roomId) {
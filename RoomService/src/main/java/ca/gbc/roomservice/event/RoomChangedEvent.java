@@ -0,0 +1,31 @@
+package ca.gbc.roomservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest state of a room on the compacted {@code rooms} topic, keyed by room id. A deleted room is
+ * published as a tombstone (a {@code null} value) instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomChangedEvent {
+    public static final String TOPIC = "rooms";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String AVAILABILITY_CHANGED = "AVAILABILITY_CHANGED";
+    // staged once for every existing room when the topic is first seeded
+    public static final String SNAPSHOT = "SNAPSHOT";
+    // staged for a delete; it goes out as the tombstone, never as a value
+    public static final String DELETED = "DELETED";
+
+    private Long roomId;
+    private String changeType;
+    private String roomName;
+    private Integer capacity;
+    private String features;
+    private Boolean available;
+}
@@ -0,0 +1,35 @@
+package ca.gbc.roomservice.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A room change waiting to be published, written in the same transaction as the change itself so that
+ * no committed change is ever missed by BookingService's room catalog.
+ */
+@Entity
+@Table(name = "room_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private String changeType;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,121 @@
+package ca.gbc.roomservice.outbox;
+
+import ca.gbc.roomservice.event.RoomChangedEvent;
+import ca.gbc.roomservice.model.Room;
+import ca.gbc.roomservice.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes staged {@link RoomChange}s to the compacted {@code rooms} topic and deletes each one once
+ * Kafka has acknowledged it; a change whose send fails stays staged and is retried on the next poll.
+ * <p>
+ * Every record carries the room's state at publish time, or a tombstone once the room is gone, rather
+ * than the state at the time of the change. Retried, duplicated or reordered sends therefore all leave
+ * the catalog at the latest state, and several replicas may run the relay at once.
+ */
+@Slf4j
+@Component
+public class RoomChangeRelay {
+
+    private final RoomChangeRepository roomChangeRepository;
+    private final RoomRepository roomRepository;
+    private final KafkaTemplate<String, RoomChangedEvent> kafkaTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter published;
+    private final Counter failed;
+
+    public RoomChangeRelay(RoomChangeRepository roomChangeRepository,
+                           RoomRepository roomRepository,
+                           KafkaTemplate<String, RoomChangedEvent> kafkaTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${rooms.outbox.batch-size:200}") int batchSize,
+                           @Value("${rooms.outbox.send-timeout:PT10S}") Duration sendTimeout) {
+        this.roomChangeRepository = roomChangeRepository;
+        this.roomRepository = roomRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.published = Counter.builder("rooms.outbox.messages").tag("result", "published").register(meterRegistry);
+        this.failed = Counter.builder("rooms.outbox.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rooms.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            List<RoomChange> batch;
+            do {
+                batch = roomChangeRepository.findAllBy(PageRequest.of(0, batchSize, Sort.by("id")));
+                if (!batch.isEmpty() && publish(batch) == 0) {
+                    return;
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception ex) {
+            log.error("Room change relay failed, retrying on the next poll: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * @return how many changes were published and removed
+     */
+    private int publish(List<RoomChange> batch) {
+        Map<Long, Room> rooms = roomRepository.findAllById(batch.stream().map(RoomChange::getRoomId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        Map<RoomChange, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (RoomChange change : batch) {
+            Room room = rooms.get(change.getRoomId());
+            RoomChangedEvent event = room == null ? null : new RoomChangedEvent(
+                    room.getId(),
+                    change.getChangeType(),
+                    room.getRoomName(),
+                    room.getCapacity(),
+                    room.getFeatures(),
+                    room.getAvailable());
+            sends.put(change, kafkaTemplate.send(RoomChangedEvent.TOPIC, String.valueOf(change.getRoomId()), event));
+        }
+
+        List<RoomChange> sent = new ArrayList<>();
+        sends.forEach((change, send) -> {
+            if (awaitSend(change, send)) {
+                sent.add(change);
+            }
+        });
+        roomChangeRepository.deleteAllInBatch(sent);
+        published.increment(sent.size());
+        failed.increment(batch.size() - sent.size());
+        return sent.size();
+    }
+
+    private boolean awaitSend(RoomChange change, CompletableFuture<?> send) {
+        try {
+            send.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            log.warn("Unable to publish {} for Room ID: {}: {}", change.getChangeType(), change.getRoomId(), ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ca.gbc.roomservice.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RoomChangeRepository extends JpaRepository<RoomChange, Long> {
+
+    List<RoomChange> findAllBy(Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package ca.gbc.roomservice.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Marks a topic that has already been seeded with a snapshot of every room.
+ */
+@Entity
+@Table(name = "room_snapshot_seeds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSnapshotSeed {
+
+    @Id
+    private String topic;
+
+    @Column(nullable = false)
+    private Instant seededAt;
+}
@@ -0,0 +1,8 @@
+package ca.gbc.roomservice.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomSnapshotSeedRepository extends JpaRepository<RoomSnapshotSeed, String> {
+}
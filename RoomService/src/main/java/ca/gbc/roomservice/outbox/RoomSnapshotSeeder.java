@@ -0,0 +1,65 @@
+package ca.gbc.roomservice.outbox;
+
+import ca.gbc.roomservice.event.RoomChangedEvent;
+import ca.gbc.roomservice.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stages every existing room once, so rooms created before the {@code rooms} topic existed reach the
+ * topic too; {@link RoomChangeRelay} then publishes them like any other change.
+ * <p>
+ * A {@link RoomSnapshotSeed} row, written in the same transaction as the staged rooms, records that the
+ * seed has run. When several replicas start together, the one whose insert loses the primary-key race
+ * rolls back, so the snapshot is staged only once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomSnapshotSeeder {
+
+    private final RoomRepository roomRepository;
+    private final RoomChangeRepository roomChangeRepository;
+    private final RoomSnapshotSeedRepository seedRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            Integer staged = new TransactionTemplate(transactionManager).execute(status -> stageSnapshot());
+            if (staged != null && staged >= 0) {
+                log.info("Staged a snapshot of {} rooms for the {} topic", staged, RoomChangedEvent.TOPIC);
+            }
+        } catch (Exception ex) {
+            log.warn("Unable to seed the {} topic, retrying on the next start: {}", RoomChangedEvent.TOPIC, ex.getMessage());
+        }
+    }
+
+    /**
+     * @return how many rooms were staged, or {@code -1} when the topic had already been seeded
+     */
+    private int stageSnapshot() {
+        if (seedRepository.existsById(RoomChangedEvent.TOPIC)) {
+            return -1;
+        }
+        Instant now = Instant.now();
+        seedRepository.saveAndFlush(new RoomSnapshotSeed(RoomChangedEvent.TOPIC, now));
+        List<RoomChange> changes = roomRepository.findAllIds().stream()
+                .map(roomId -> RoomChange.builder()
+                        .roomId(roomId)
+                        .changeType(RoomChangedEvent.SNAPSHOT)
+                        .createdAt(now)
+                        .build())
+                .toList();
+        roomChangeRepository.saveAll(changes);
+        return changes.size();
+    }
+}
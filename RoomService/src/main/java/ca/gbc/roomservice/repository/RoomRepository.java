@@ -1,14 +1,30 @@
 package ca.gbc.roomservice.repository;
 
 import ca.gbc.roomservice.model.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
 
     List<Room> findByAvailableTrue();
+
+    List<Room> findAllBy(Pageable pageable);
+
+    List<Room> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Query("SELECT r.id FROM Room r ORDER BY r.id")
+    List<Long> findAllIds();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Room> streamAllBy();
 }
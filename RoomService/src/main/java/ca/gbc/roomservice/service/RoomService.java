@@ -1,16 +1,24 @@
 package ca.gbc.roomservice.service;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 import ca.gbc.roomservice.dto.RoomRequest;
 import ca.gbc.roomservice.dto.RoomResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RoomService {
     RoomResponse createRoom(RoomRequest roomRequest);
     List<RoomResponse> getAllRooms();
+    CursorPage<RoomResponse> getRoomsPage(Long after, int limit);
+    void streamAllRooms(Consumer<RoomResponse> sink);
     RoomResponse updateRoom(Long id, RoomRequest roomRequest);
     void deleteRoom(Long id);
     List<RoomResponse> getAvailableRooms();
 
     RoomResponse getRoomById(Long roomId);
+
+    BatchLookupResponse<RoomResponse, Long> getRoomsByIds(Collection<Long> ids);
 }
@@ -1,24 +1,48 @@
 package ca.gbc.roomservice.service;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 import ca.gbc.roomservice.dto.RoomRequest;
 import ca.gbc.roomservice.dto.RoomResponse;
+import ca.gbc.roomservice.event.RoomChangedEvent;
 import ca.gbc.roomservice.model.Room;
+import ca.gbc.roomservice.outbox.RoomChange;
+import ca.gbc.roomservice.outbox.RoomChangeRepository;
 import ca.gbc.roomservice.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RoomServiceImpl implements RoomService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final RoomRepository roomRepository;
+    private final EntityManager entityManager;
+    private final RoomChangeRepository roomChangeRepository;
 
     @Override
+    @Transactional
     public RoomResponse createRoom(RoomRequest roomRequest) {
         Room room = Room.builder()
                 .roomName(roomRequest.getRoomName())
@@ -28,6 +52,7 @@ public class RoomServiceImpl implements RoomService {
                 .build();
 
         Room savedRoom = roomRepository.save(room);
+        stageRoomChanged(savedRoom.getId(), RoomChangedEvent.CREATED);
         return mapToRoomResponse(savedRoom);
     }
 
@@ -39,6 +64,31 @@ public class RoomServiceImpl implements RoomService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<RoomResponse> getRoomsPage(Long after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by("id"));
+        List<Room> rooms = after == null
+                ? roomRepository.findAllBy(pageable)
+                : roomRepository.findByIdGreaterThan(after, pageable);
+        return CursorPage.of(rooms, pageSize, Room::getId, this::mapToRoomResponse);
+    }
+
+    /**
+     * Reads through a server-side cursor inside a read-only transaction; each row is detached once
+     * written so the persistence context does not grow with the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllRooms(Consumer<RoomResponse> sink) {
+        try (Stream<Room> rooms = roomRepository.streamAllBy()) {
+            rooms.forEach(room -> {
+                sink.accept(mapToRoomResponse(room));
+                entityManager.detach(room);
+            });
+        }
+    }
+
     @Override
     public RoomResponse getRoomById(Long id) {
         Room room = roomRepository.findById(id)
@@ -47,24 +97,43 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
+    public BatchLookupResponse<RoomResponse, Long> getRoomsByIds(Collection<Long> ids) {
+        Collection<Long> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " rooms can be looked up at once");
+        }
+        List<RoomResponse> rooms = roomRepository.findAllById(requested).stream()
+                .map(this::mapToRoomResponse)
+                .toList();
+        return BatchLookupResponse.of(requested, rooms, RoomResponse::getId);
+    }
+
+    @Override
+    @Transactional
     public RoomResponse updateRoom(Long id, RoomRequest roomRequest) {
         Room existingRoom = roomRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Room not found with ID: " + id));
 
+        boolean availabilityChanged = !Objects.equals(existingRoom.getAvailable(), roomRequest.getAvailable());
         existingRoom.setRoomName(roomRequest.getRoomName());
         existingRoom.setCapacity(roomRequest.getCapacity());
         existingRoom.setFeatures(roomRequest.getFeatures());
         existingRoom.setAvailable(roomRequest.getAvailable());
 
         Room updatedRoom = roomRepository.save(existingRoom);
+        stageRoomChanged(updatedRoom.getId(), availabilityChanged ? RoomChangedEvent.AVAILABILITY_CHANGED : RoomChangedEvent.UPDATED);
         return mapToRoomResponse(updatedRoom);
     }
 
     @Override
+    @Transactional
     public void deleteRoom(Long id) {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Room not found with ID: " + id));
         roomRepository.delete(room);
+        stageRoomChanged(id, RoomChangedEvent.DELETED);
     }
 
     @Override
@@ -75,6 +144,19 @@ public class RoomServiceImpl implements RoomService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stages the change in the caller's transaction; {@link ca.gbc.roomservice.outbox.RoomChangeRelay}
+     * publishes the room's full state to the compacted rooms topic once the transaction has committed.
+     */
+    private void stageRoomChanged(Long roomId, String changeType) {
+        roomChangeRepository.save(RoomChange.builder()
+                .roomId(roomId)
+                .changeType(changeType)
+                .createdAt(Instant.now())
+                .build());
+        log.info("Staged {} for Room ID: {}", changeType, roomId);
+    }
+
     private RoomResponse mapToRoomResponse(Room room) {
         return RoomResponse.builder()
                 .id(room.getId())
@@ -24,6 +24,7 @@ repositories {
 }
 
 dependencies {
+    implementation(project(":common"))
     // Spring Boot dependencies
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
@@ -39,6 +40,9 @@ dependencies {
     // PostgreSQL Driver
     implementation("org.postgresql:postgresql:42.6.0")
 
+    // Kafka for the compacted users topic
+    implementation("org.springframework.kafka:spring-kafka:3.3.0")
+
     // Development tools (only included in dev builds)
     developmentOnly("org.springframework.boot:spring-boot-devtools")
 
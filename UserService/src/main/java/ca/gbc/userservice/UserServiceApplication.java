@@ -1,9 +1,14 @@
 package ca.gbc.userservice;
 
+import ca.gbc.common.security.CachingJwtDecoder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import(CachingJwtDecoder.class)
+@EnableScheduling
 public class UserServiceApplication {
 
     public static void main(String[] args) {
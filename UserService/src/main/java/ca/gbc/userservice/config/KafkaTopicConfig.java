@@ -0,0 +1,26 @@
+package ca.gbc.userservice.config;
+
+import ca.gbc.userservice.event.UserChangedEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    /**
+     * Compaction keeps the latest record per user, so a service replaying the topic from the start
+     * rebuilds the whole directory without calling UserService.
+     */
+    @Bean
+    public NewTopic usersTopic(@Value("${users.topic.partitions:3}") int partitions,
+                               @Value("${users.topic.replicas:1}") int replicas) {
+        return TopicBuilder.name(UserChangedEvent.TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .compact()
+                .build();
+    }
+}
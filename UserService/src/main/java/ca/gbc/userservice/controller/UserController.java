@@ -1,14 +1,20 @@
 package ca.gbc.userservice.controller;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
+import ca.gbc.common.web.NdjsonStream;
 import ca.gbc.userservice.dto.UserRequest;
 import ca.gbc.userservice.dto.UserResponse;
+import ca.gbc.userservice.dto.UserRoleResponse;
 import ca.gbc.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +24,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<UserResponse> createUser(@RequestBody UserRequest request) {
@@ -37,12 +44,42 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchLookupResponse<UserResponse, Long>> getUsersByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersPage(@RequestParam(required = false) Long after,
+                                                                 @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(userService.getUsersPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = NdjsonStream.of(objectMapper, userService::streamAllUsers);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         UserResponse userResponse = userService.getUserById(id);
         return ResponseEntity.ok(userResponse);
     }
 
+    @GetMapping("/{id}/role")
+    public ResponseEntity<UserRoleResponse> getUserRole(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.getUserRole(id));
+    }
+
+    /**
+     * Maps a Keycloak subject to the user it belongs to, for tokens that carry no user id claim.
+     */
+    @GetMapping("/subjects/{subject}/role")
+    public ResponseEntity<UserRoleResponse> getUserRoleBySubject(@PathVariable String subject) {
+        return ResponseEntity.ok(userService.getUserRoleBySubject(subject));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @RequestBody UserRequest request) {
         UserResponse updatedUser = userService.updateUser(id, request);
@@ -20,4 +20,5 @@ public class UserRequest {
     private String password;
     private Roles role;
     private UsersTypes userType;
+    private String keycloakSubject;
 }
@@ -0,0 +1,12 @@
+package ca.gbc.userservice.dto;
+
+import ca.gbc.userservice.model.Roles;
+
+/**
+ * The fields other services check before acting for a user; read as a projection, never as a full entity.
+ */
+public record UserRoleResponse(
+        Long id,
+        Roles role,
+        boolean active
+) {}
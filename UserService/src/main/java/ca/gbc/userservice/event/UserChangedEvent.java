@@ -0,0 +1,31 @@
+package ca.gbc.userservice.event;
+
+import ca.gbc.userservice.model.Roles;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest state of a user on the compacted {@code users} topic, keyed by user id. A deleted user is
+ * published as a tombstone (a {@code null} value) instead, so compaction drops it for good.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangedEvent {
+    public static final String TOPIC = "users";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String ACTIVATED = "ACTIVATED";
+    public static final String DEACTIVATED = "DEACTIVATED";
+    // staged for a delete; it goes out as the tombstone, never as a value
+    public static final String DELETED = "DELETED";
+
+    private Long userId;
+    private String changeType;
+    private Roles role;
+    private String email;
+    private boolean active;
+    private String keycloakSubject;
+}
@@ -35,4 +35,8 @@ public class Users {
     @Builder.Default
     @Column(nullable = false)
     private boolean active = true;
+
+    // the Keycloak account's "sub", so services can map a token to this user
+    @Column(name = "keycloak_subject", unique = true)
+    private String keycloakSubject;
 }
@@ -0,0 +1,35 @@
+package ca.gbc.userservice.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A user change waiting to be published, written in the same transaction as the change itself so that
+ * no committed change is ever missed by the other services' user directories.
+ */
+@Entity
+@Table(name = "user_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String changeType;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
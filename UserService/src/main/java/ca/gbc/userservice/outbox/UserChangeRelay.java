@@ -0,0 +1,121 @@
+package ca.gbc.userservice.outbox;
+
+import ca.gbc.userservice.event.UserChangedEvent;
+import ca.gbc.userservice.model.Users;
+import ca.gbc.userservice.repository.UsersRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes staged {@link UserChange}s to the compacted {@code users} topic and deletes each one once
+ * Kafka has acknowledged it; a change whose send fails stays staged and is retried on the next poll.
+ * <p>
+ * Every record carries the user's state at publish time, or a tombstone once the user is gone, rather
+ * than the state at the time of the change. Retried, duplicated or reordered sends therefore all leave
+ * the replicas at the latest state, and several replicas may run the relay at once.
+ */
+@Slf4j
+@Component
+public class UserChangeRelay {
+
+    private final UserChangeRepository userChangeRepository;
+    private final UsersRepository usersRepository;
+    private final KafkaTemplate<String, UserChangedEvent> kafkaTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter published;
+    private final Counter failed;
+
+    public UserChangeRelay(UserChangeRepository userChangeRepository,
+                           UsersRepository usersRepository,
+                           KafkaTemplate<String, UserChangedEvent> kafkaTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${users.outbox.batch-size:200}") int batchSize,
+                           @Value("${users.outbox.send-timeout:PT10S}") Duration sendTimeout) {
+        this.userChangeRepository = userChangeRepository;
+        this.usersRepository = usersRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.published = Counter.builder("users.outbox.messages").tag("result", "published").register(meterRegistry);
+        this.failed = Counter.builder("users.outbox.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${users.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            List<UserChange> batch;
+            do {
+                batch = userChangeRepository.findAllBy(PageRequest.of(0, batchSize, Sort.by("id")));
+                if (!batch.isEmpty() && publish(batch) == 0) {
+                    return;
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception ex) {
+            log.error("User change relay failed, retrying on the next poll: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * @return how many changes were published and removed
+     */
+    private int publish(List<UserChange> batch) {
+        Map<Long, Users> users = usersRepository.findAllById(batch.stream().map(UserChange::getUserId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Users::getId, Function.identity()));
+
+        Map<UserChange, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (UserChange change : batch) {
+            Users user = users.get(change.getUserId());
+            UserChangedEvent event = user == null ? null : new UserChangedEvent(
+                    user.getId(),
+                    change.getChangeType(),
+                    user.getRole(),
+                    user.getEmail(),
+                    user.isActive(),
+                    user.getKeycloakSubject());
+            sends.put(change, kafkaTemplate.send(UserChangedEvent.TOPIC, String.valueOf(change.getUserId()), event));
+        }
+
+        List<UserChange> sent = new ArrayList<>();
+        sends.forEach((change, send) -> {
+            if (awaitSend(change, send)) {
+                sent.add(change);
+            }
+        });
+        userChangeRepository.deleteAllInBatch(sent);
+        published.increment(sent.size());
+        failed.increment(batch.size() - sent.size());
+        return sent.size();
+    }
+
+    private boolean awaitSend(UserChange change, CompletableFuture<?> send) {
+        try {
+            send.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            log.warn("Unable to publish {} for User ID: {}: {}", change.getChangeType(), change.getUserId(), ex.getMessage());
+            return false;
+        }
+    }
+}
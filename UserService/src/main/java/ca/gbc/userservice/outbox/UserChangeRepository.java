@@ -0,0 +1,13 @@
+package ca.gbc.userservice.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    List<UserChange> findAllBy(Pageable pageable);
+}
@@ -1,13 +1,20 @@
 package ca.gbc.userservice.repository;
 
+import ca.gbc.userservice.dto.UserRoleResponse;
 import ca.gbc.userservice.model.Roles;
 import ca.gbc.userservice.model.Users;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsersRepository extends JpaRepository<Users, Long> {
@@ -19,4 +26,17 @@ public interface UsersRepository extends JpaRepository<Users, Long> {
     @Query("SELECT COUNT(u) FROM Users u WHERE u.role = :role")
     Long countByRole(@Param("role") Roles role);
 
+    @Query("SELECT new ca.gbc.userservice.dto.UserRoleResponse(u.id, u.role, u.active) FROM Users u WHERE u.id = :id")
+    Optional<UserRoleResponse> findRoleById(@Param("id") Long id);
+
+    @Query("SELECT new ca.gbc.userservice.dto.UserRoleResponse(u.id, u.role, u.active) FROM Users u WHERE u.keycloakSubject = :subject")
+    Optional<UserRoleResponse> findRoleByKeycloakSubject(@Param("subject") String subject);
+
+    List<Users> findAllBy(Pageable pageable);
+
+    List<Users> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Users> streamAllBy();
+
 }
@@ -1,14 +1,24 @@
 package ca.gbc.userservice.service;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 import ca.gbc.userservice.dto.UserRequest;
 import ca.gbc.userservice.dto.UserResponse;
+import ca.gbc.userservice.dto.UserRoleResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserResponse createUser(UserRequest userRequest); // Create a user
     UserResponse getUserById(Long id); // Get a user by ID
+    UserRoleResponse getUserRole(Long id); // Get only the role and status of a user
+    UserRoleResponse getUserRoleBySubject(String subject); // Same, for the user a Keycloak subject belongs to
     List<UserResponse> getAllUsers(); // Get all users
+    BatchLookupResponse<UserResponse, Long> getUsersByIds(Collection<Long> ids); // Get many users in one query
+    CursorPage<UserResponse> getUsersPage(Long after, int limit); // Get users one page at a time, in id order
+    void streamAllUsers(Consumer<UserResponse> sink); // Stream all users from a database cursor
     UserResponse updateUser(Long id, UserRequest userRequest); // Update a user
     void deleteUser(Long id); // Delete a user
     UserResponse deactivateUser(Long id); // Deactivate a user
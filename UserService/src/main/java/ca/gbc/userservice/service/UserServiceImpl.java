@@ -1,28 +1,51 @@
 package ca.gbc.userservice.service;
 
+import ca.gbc.common.web.BatchLookupResponse;
+import ca.gbc.common.web.CursorPage;
 import ca.gbc.userservice.dto.UserRequest;
 import ca.gbc.userservice.dto.UserResponse;
+import ca.gbc.userservice.dto.UserRoleResponse;
+import ca.gbc.userservice.event.UserChangedEvent;
 import ca.gbc.userservice.model.Users;
+import ca.gbc.userservice.outbox.UserChange;
+import ca.gbc.userservice.outbox.UserChangeRepository;
 import ca.gbc.userservice.repository.UsersRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final UsersRepository usersRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final UserChangeRepository userChangeRepository;
 
     @Override
+    @Transactional
     public UserResponse createUser(UserRequest request) {
         try {
             Users user = Users.builder()
@@ -31,10 +54,12 @@ public class UserServiceImpl implements UserService {
                     .password(passwordEncoder.encode(request.getPassword()))
                     .role(request.getRole())
                     .userType(request.getUserType())
+                    .keycloakSubject(request.getKeycloakSubject())
                     .active(true)
                     .build();
 
             Users savedUser = usersRepository.save(user);
+            stageUserChanged(savedUser.getId(), UserChangedEvent.CREATED);
             return mapToResponse(savedUser);
         } catch (Exception e) {
             log.error("Error creating user: {}", e.getMessage(), e);
@@ -55,6 +80,19 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public UserRoleResponse getUserRole(Long userId) {
+        return usersRepository.findRoleById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found for ID: " + userId));
+    }
+
+    @Override
+    public UserRoleResponse getUserRoleBySubject(String subject) {
+        return usersRepository.findRoleByKeycloakSubject(subject)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found for subject: " + subject));
+    }
+
+    @Override
+    @Transactional
     public UserResponse updateUser(Long userId, UserRequest request) {
         try {
             Users user = usersRepository.findById(userId)
@@ -65,8 +103,10 @@ public class UserServiceImpl implements UserService {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
             user.setRole(request.getRole());
             user.setUserType(request.getUserType());
+            user.setKeycloakSubject(request.getKeycloakSubject());
 
             Users updatedUser = usersRepository.save(user);
+            stageUserChanged(updatedUser.getId(), UserChangedEvent.UPDATED);
             return mapToResponse(updatedUser);
         } catch (Exception e) {
             log.error("Error updating user with ID {}: {}", userId, e.getMessage(), e);
@@ -75,12 +115,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
         try {
             if (!usersRepository.existsById(userId)) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found for ID: " + userId);
             }
             usersRepository.deleteById(userId);
+            stageUserChanged(userId, UserChangedEvent.DELETED);
         } catch (Exception e) {
             log.error("Error deleting user with ID {}: {}", userId, e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to delete user", e);
@@ -88,6 +130,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserResponse deactivateUser(Long userId) {
         try {
             Users user = usersRepository.findById(userId)
@@ -95,6 +138,7 @@ public class UserServiceImpl implements UserService {
 
             user.setActive(false);
             Users deactivatedUser = usersRepository.save(user);
+            stageUserChanged(deactivatedUser.getId(), UserChangedEvent.DEACTIVATED);
             return mapToResponse(deactivatedUser);
         } catch (Exception e) {
             log.error("Error deactivating user with ID {}: {}", userId, e.getMessage(), e);
@@ -103,6 +147,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserResponse activateUser(Long userId) {
         try {
             Users user = usersRepository.findById(userId)
@@ -110,6 +155,7 @@ public class UserServiceImpl implements UserService {
 
             user.setActive(true);
             Users activatedUser = usersRepository.save(user);
+            stageUserChanged(activatedUser.getId(), UserChangedEvent.ACTIVATED);
             return mapToResponse(activatedUser);
         } catch (Exception e) {
             log.error("Error activating user with ID {}: {}", userId, e.getMessage(), e);
@@ -147,6 +193,68 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public BatchLookupResponse<UserResponse, Long> getUsersByIds(Collection<Long> ids) {
+        Collection<Long> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " users can be looked up at once");
+        }
+        try {
+            List<UserResponse> users = usersRepository.findAllById(requested).stream()
+                    .map(this::mapToResponse)
+                    .toList();
+            return BatchLookupResponse.of(requested, users, UserResponse::getId);
+        } catch (Exception e) {
+            log.error("Error fetching {} users by ID: {}", requested.size(), e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to fetch users", e);
+        }
+    }
+
+    @Override
+    public CursorPage<UserResponse> getUsersPage(Long after, int limit) {
+        try {
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by("id"));
+            List<Users> users = after == null
+                    ? usersRepository.findAllBy(pageable)
+                    : usersRepository.findByIdGreaterThan(after, pageable);
+            return CursorPage.of(users, pageSize, Users::getId, this::mapToResponse);
+        } catch (Exception e) {
+            log.error("Error fetching users page after {}: {}", after, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to fetch users", e);
+        }
+    }
+
+    /**
+     * Reads through a server-side cursor inside a read-only transaction; each row is detached once
+     * written so the persistence context does not grow with the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponse> sink) {
+        try (Stream<Users> users = usersRepository.streamAllBy()) {
+            users.forEach(user -> {
+                sink.accept(mapToResponse(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    /**
+     * Stages the change in the caller's transaction; {@link ca.gbc.userservice.outbox.UserChangeRelay}
+     * publishes it to the compacted users topic once the transaction has committed.
+     */
+    private void stageUserChanged(Long userId, String changeType) {
+        userChangeRepository.save(UserChange.builder()
+                .userId(userId)
+                .changeType(changeType)
+                .createdAt(Instant.now())
+                .build());
+        log.info("Staged {} for User ID: {}", changeType, userId);
+    }
+
     private UserResponse mapToResponse(Users user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -23,6 +23,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -86,7 +87,8 @@ class UserServiceApplicationTests {
                 uniqueEmail,
                 "password123",
                 Roles.STAFF,
-                UsersTypes.STAFF
+                UsersTypes.STAFF,
+                null
         );
 
         ValidatableResponse response = given()
@@ -120,6 +122,35 @@ class UserServiceApplicationTests {
                 .body("email", equalTo("admin@example.com"));
     }
 
+    @Test
+    void testGetUserRoleReturnsOnlyTheRoleProjection() {
+        String jwtToken = authenticateAndGetJwtToken();
+        Users user = usersRepository.findByEmail("admin@example.com").orElseThrow();
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .when()
+                .get("/api/users/" + user.getId() + "/role")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(user.getId().intValue()))
+                .body("role", equalTo("ADMIN"))
+                .body("active", equalTo(true))
+                .body("email", nullValue());
+    }
+
+    @Test
+    void testGetUserRoleOfAnUnknownUserIsNotFound() {
+        String jwtToken = authenticateAndGetJwtToken();
+
+        given()
+                .header("Authorization", "Bearer " + jwtToken)
+                .when()
+                .get("/api/users/999999/role")
+                .then()
+                .statusCode(404);
+    }
+
     @Test
     void testUpdateUser() {
         String jwtToken = authenticateAndGetJwtToken();
@@ -131,7 +162,8 @@ class UserServiceApplicationTests {
                 "updated.email@example.com",
                 "newpassword123",
                 Roles.STAFF,
-                UsersTypes.STAFF
+                UsersTypes.STAFF,
+                null
         );
 
         given()
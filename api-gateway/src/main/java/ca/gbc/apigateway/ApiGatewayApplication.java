@@ -1,9 +1,12 @@
 package ca.gbc.apigateway;
 
+import ca.gbc.common.security.CachingJwtDecoder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(CachingJwtDecoder.class)
 public class ApiGatewayApplication {
 
     public static void main(String[] args) {
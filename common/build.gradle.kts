@@ -0,0 +1,40 @@
+plugins {
+	`java-library`
+	id("io.spring.dependency-management") version "1.1.6"
+}
+
+group = "ca.gbc"
+version = "0.0.1-SNAPSHOT"
+
+java {
+	toolchain {
+		languageVersion = JavaLanguageVersion.of(21)
+	}
+}
+
+configurations {
+	compileOnly {
+		extendsFrom(configurations.annotationProcessor.get())
+	}
+}
+
+repositories {
+	mavenCentral()
+}
+
+dependencyManagement {
+	imports {
+		mavenBom("org.springframework.boot:spring-boot-dependencies:3.3.3")
+	}
+}
+
+// Each service already brings these through its own starters, so a service only gets what it uses.
+dependencies {
+	compileOnly("org.springframework.boot:spring-boot-starter-actuator")
+	compileOnly("org.springframework.boot:spring-boot-starter-data-mongodb")
+	compileOnly("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
+	compileOnly("org.springframework.boot:spring-boot-starter-web")
+	compileOnly("org.springframework.kafka:spring-kafka:3.3.0")
+	compileOnly("org.projectlombok:lombok")
+	annotationProcessor("org.projectlombok:lombok")
+}
@@ -0,0 +1,130 @@
+package ca.gbc.common.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent downstream lookups of one request concurrently on virtual threads, under a single
+ * deadline. Lookups registered under the same key within a {@link Scope} share one call, so a request
+ * that needs the same user twice only fetches it once. A missed deadline is reported with the
+ * exception built by {@code timeoutException}, 504 unless the service maps it to its own type.
+ */
+@Slf4j
+public class DownstreamCalls {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration deadline;
+    private final Function<String, ? extends RuntimeException> timeoutException;
+
+    @Autowired
+    public DownstreamCalls(@Value("${downstream.deadline:PT3S}") Duration deadline) {
+        this(deadline, message -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, message));
+    }
+
+    public DownstreamCalls(Duration deadline, Function<String, ? extends RuntimeException> timeoutException) {
+        this.deadline = deadline;
+        this.timeoutException = timeoutException;
+    }
+
+    /**
+     * Starts a scope for one request; close it to abandon calls that are still running.
+     */
+    public Scope open() {
+        return new Scope(System.nanoTime() + deadline.toNanos());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final Map<String, CompletableFuture<?>> calls = new ConcurrentHashMap<>();
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Starts {@code lookup} unless a call with the same key is already part of this scope.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<T> call(String key, Supplier<T> lookup) {
+            return (CompletableFuture<T>) calls.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(lookup, executor));
+        }
+
+        public CompletableFuture<Void> run(String key, Runnable validation) {
+            return call(key, () -> {
+                validation.run();
+                return null;
+            });
+        }
+
+        /**
+         * Waits until every call has finished, or rethrows the first failure without waiting for the rest.
+         */
+        public void awaitAll() {
+            CompletableFuture<?>[] pending = calls.values().toArray(CompletableFuture[]::new);
+            CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+            for (CompletableFuture<?> call : pending) {
+                call.whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        firstFailure.completeExceptionally(ex);
+                    }
+                });
+            }
+            await(CompletableFuture.anyOf(CompletableFuture.allOf(pending), firstFailure));
+        }
+
+        /**
+         * Result of a call started in this scope, waiting at most until the scope's deadline.
+         */
+        public <T> T join(CompletableFuture<T> call) {
+            return await(call);
+        }
+
+        @Override
+        public void close() {
+            calls.values().forEach(call -> call.cancel(false));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T await(CompletableFuture<?> future) {
+            try {
+                return (T) future.get(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.error("Downstream calls {} did not finish within {}", calls.keySet(), deadline);
+                throw timeoutException.apply("Downstream services did not answer within " + deadline.toMillis() + " ms");
+            } catch (ExecutionException | CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() instanceof CompletionException nested ? nested.getCause() : e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Downstream call failed", cause == null ? e : cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for downstream calls", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ca.gbc.common.directory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only replica of UserService's users, fed by each service's listener on the compacted
+ * {@code users} topic. Only the fields used by local checks are kept, and role names are shared
+ * between entries, so even a large directory stays small.
+ * <p>
+ * {@code user.directory.staleness} records how long each change took from UserService to this
+ * replica; it is the bound on how out of date a lookup can be while the listener keeps up.
+ * <p>
+ * Services register it with {@code @Import(UserDirectory.class)}.
+ */
+public class UserDirectory {
+
+    private final Map<String, DirectoryUser> users = new ConcurrentHashMap<>();
+    private final Map<String, String> userIdsBySubject = new ConcurrentHashMap<>();
+    private final Map<String, String> roles = new ConcurrentHashMap<>();
+    private final Instant startedAt = Instant.now();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer staleness;
+
+    public UserDirectory(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("user.directory.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("user.directory.lookups").tag("result", "miss").register(meterRegistry);
+        this.staleness = Timer.builder("user.directory.staleness").register(meterRegistry);
+        Gauge.builder("user.directory.size", users, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Applies one record of the users topic; a {@code null} user is a tombstone for a deleted user.
+     */
+    public void apply(String userId, DirectoryUser user, Instant publishedAt) {
+        DirectoryUser previous;
+        if (user == null) {
+            previous = users.remove(userId);
+        } else {
+            String role = user.role() == null ? null : roles.computeIfAbsent(user.role(), name -> name);
+            previous = users.put(userId, new DirectoryUser(role, user.active(), user.email(), user.subject()));
+            if (user.subject() != null) {
+                userIdsBySubject.put(user.subject(), userId);
+            }
+        }
+        if (previous != null && previous.subject() != null && (user == null || !previous.subject().equals(user.subject()))) {
+            userIdsBySubject.remove(previous.subject(), userId);
+        }
+        // records replayed at startup are as old as the topic, not late
+        if (publishedAt.isAfter(startedAt)) {
+            staleness.record(Duration.between(publishedAt, Instant.now()));
+        }
+    }
+
+    /**
+     * The user as last published, or empty when the directory has not seen it; callers then fall back
+     * to asking UserService.
+     */
+    public Optional<DirectoryUser> find(String userId) {
+        DirectoryUser user = userId == null ? null : users.get(userId);
+        if (user == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(user);
+    }
+
+    /**
+     * The id of the user a Keycloak subject belongs to, or empty when no published user carries it.
+     */
+    public Optional<String> findUserId(String subject) {
+        return subject == null ? Optional.empty() : Optional.ofNullable(userIdsBySubject.get(subject));
+    }
+
+    public record DirectoryUser(String role, boolean active, String email, String subject) {
+    }
+}
@@ -0,0 +1,31 @@
+package ca.gbc.common.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The outcome of a request sent with an {@code Idempotency-Key}. While the first request runs the record
+ * is {@code IN_PROGRESS} with a short expiry, so a crashed replica does not block the key for long.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotencyKeys")
+public class IdempotencyRecord {
+
+    public enum Status { IN_PROGRESS, COMPLETED }
+
+    @Id
+    private String id;
+    private Status status;
+    private String requestHash;
+    private String responseBody;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
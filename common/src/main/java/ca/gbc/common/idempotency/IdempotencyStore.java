@@ -0,0 +1,249 @@
+package ca.gbc.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key} and replays the stored response for
+ * repeats. Keys are scoped to the operation and the caller. Concurrent repeats on this replica wait for
+ * the running request; repeats on other replicas see its {@code IN_PROGRESS} record in Mongo and poll it.
+ * Failed requests are not stored, so a retry runs them again.
+ * <p>
+ * Services that store records in Mongo register it with {@code @Import(IdempotencyStore.class)}.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MILLIS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressLease;
+    private final Duration waitTimeout;
+    private final Map<String, IdempotencyRecord> recent;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> running = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter collapsed;
+
+    public IdempotencyStore(MongoTemplate mongoTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${idempotency.in-progress-lease:PT1M}") Duration inProgressLease,
+                            @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressLease = inProgressLease;
+        this.waitTimeout = waitTimeout;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.executed = Counter.builder("idempotency.requests").tag("outcome", "executed").register(meterRegistry);
+        this.replayed = Counter.builder("idempotency.requests").tag("outcome", "replayed").register(meterRegistry);
+        this.collapsed = Counter.builder("idempotency.requests").tag("outcome", "collapsed").register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key already ran, in which case its response is
+     * returned instead. Without a key the action simply runs.
+     *
+     * @param operation names the endpoint, so one key can be reused across endpoints
+     * @param request   the request body; a repeat with a different body is rejected
+     */
+    public <T> T execute(String operation, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+        String id = operation + ":" + caller() + ":" + key;
+        String requestHash = hash(request);
+
+        IdempotencyRecord cached = recent.get(id);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            replayed.increment();
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<IdempotencyRecord> claim = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> inFlight = running.putIfAbsent(id, claim);
+        if (inFlight != null) {
+            collapsed.increment();
+            return replay(await(inFlight), requestHash, responseType);
+        }
+        try {
+            IdempotencyRecord previous = claimKey(id, requestHash);
+            if (previous != null) {
+                claim.complete(previous);
+                replayed.increment();
+                return replay(previous, requestHash, responseType);
+            }
+            T response = runClaimed(id, action);
+            IdempotencyRecord completed = complete(id, requestHash, response);
+            claim.complete(completed);
+            executed.increment();
+            return response;
+        } catch (RuntimeException ex) {
+            claim.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            running.remove(id, claim);
+        }
+    }
+
+    private <T> T runClaimed(String id, Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException ex) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)
+                    .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)), IdempotencyRecord.class);
+            throw ex;
+        }
+    }
+
+    /**
+     * Inserts the {@code IN_PROGRESS} record for a key.
+     *
+     * @return {@code null} once this request owns the key, or the completed record of an earlier request
+     */
+    private IdempotencyRecord claimKey(String id, String requestHash) {
+        Instant deadline = Instant.now().plus(waitTimeout);
+        while (true) {
+            Instant now = Instant.now();
+            try {
+                mongoTemplate.insert(new IdempotencyRecord(id, IdempotencyRecord.Status.IN_PROGRESS, requestHash, null,
+                        now.plus(inProgressLease)));
+                return null;
+            } catch (DuplicateKeyException ex) {
+                IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+                if (existing != null && !existing.getExpiresAt().isAfter(now)) {
+                    // expired records linger until Mongo's TTL monitor runs
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").is(id).and("expiresAt").is(existing.getExpiresAt())),
+                            IdempotencyRecord.class);
+                    continue;
+                }
+                if (existing != null && existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    recent.put(id, existing);
+                    return existing;
+                }
+                if (existing != null && !existing.getRequestHash().equals(requestHash)) {
+                    throw keyReused();
+                }
+            }
+            if (now.isAfter(deadline)) {
+                throw inProgress();
+            }
+            sleep();
+        }
+    }
+
+    private IdempotencyRecord complete(String id, String requestHash, Object response) {
+        IdempotencyRecord completed;
+        try {
+            completed = new IdempotencyRecord(id, IdempotencyRecord.Status.COMPLETED, requestHash,
+                    objectMapper.writeValueAsString(response), Instant.now().plus(ttl));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to store response for idempotency key " + id, ex);
+        }
+        mongoTemplate.save(completed);
+        recent.put(id, completed);
+        return completed;
+    }
+
+    private <T> T replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw keyReused();
+        }
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to replay stored response for idempotency key " + record.getId(), ex);
+        }
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> inFlight) {
+        try {
+            return inFlight.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw inProgress();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for a duplicate request.");
+        }
+    }
+
+    private ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this " + HEADER + " is still being processed, retry later.");
+    }
+
+    private ResponseStatusException keyReused() {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                HEADER + " was already used for a different request.");
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Unable to fingerprint request", ex);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for a duplicate request.");
+        }
+    }
+}
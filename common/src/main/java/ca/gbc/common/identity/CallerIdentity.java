@@ -0,0 +1,12 @@
+package ca.gbc.common.identity;
+
+/**
+ * The user behind the current request, as asserted by the token it was authenticated with. The role
+ * is {@code null} when the token names none.
+ */
+public record CallerIdentity(String userId, String role) {
+
+    public boolean is(String otherUserId) {
+        return userId.equals(otherUserId);
+    }
+}
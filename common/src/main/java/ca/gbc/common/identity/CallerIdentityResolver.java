@@ -0,0 +1,113 @@
+package ca.gbc.common.identity;
+
+import ca.gbc.common.directory.UserDirectory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the caller's user id and role from the JWT that {@code oauth2ResourceServer} has already
+ * validated, so checks about the caller themselves need no call to UserService.
+ * <p>
+ * The user id comes from the {@code identity.claims.user-id} claim. Tokens without it are mapped from
+ * their Keycloak subject, first through the user directory and then through the service's
+ * {@link SubjectLookup}. The role comes from the {@code identity.claims.role} claim, or else from the
+ * caller's Keycloak realm roles: the first of {@code identity.roles}, in the configured order, that the
+ * caller holds.
+ * <p>
+ * The security context is per thread, so resolve the caller before handing work to another thread.
+ * Services register it with {@code @Import(CallerIdentityResolver.class)}.
+ */
+@Slf4j
+public class CallerIdentityResolver {
+
+    private final UserDirectory userDirectory;
+    private final SubjectLookup subjectLookup;
+    private final String userIdClaim;
+    private final String roleClaim;
+    private final List<String> roles;
+
+    public CallerIdentityResolver(UserDirectory userDirectory,
+                                  SubjectLookup subjectLookup,
+                                  @Value("${identity.claims.user-id:userId}") String userIdClaim,
+                                  @Value("${identity.claims.role:role}") String roleClaim,
+                                  @Value("${identity.roles:STAFF,FACULTY,STUDENT}") List<String> roles) {
+        this.userDirectory = userDirectory;
+        this.subjectLookup = subjectLookup;
+        this.userIdClaim = userIdClaim;
+        this.roleClaim = roleClaim;
+        this.roles = roles;
+    }
+
+    /**
+     * The caller of the current request, or empty when it was not authenticated with a JWT or its
+     * subject belongs to no known user.
+     */
+    public Optional<CallerIdentity> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthenticationToken token)) {
+            return Optional.empty();
+        }
+        Jwt jwt = token.getToken();
+        String role = roleOf(jwt);
+        String userId = jwt.getClaimAsString(userIdClaim);
+        if (userId == null) {
+            userId = userDirectory.findUserId(jwt.getSubject()).orElse(null);
+        }
+        if (userId == null) {
+            CallerIdentity user = findBySubject(jwt);
+            if (user == null) {
+                return Optional.empty();
+            }
+            userId = user.userId();
+            role = role == null ? user.role() : role;
+        }
+        return Optional.of(new CallerIdentity(userId, role));
+    }
+
+    /**
+     * The caller, when it is the given user and its token names a role; empty when the role has to be
+     * looked up.
+     */
+    public Optional<CallerIdentity> claimedUser(String userId) {
+        return current().filter(caller -> caller.is(userId) && caller.role() != null);
+    }
+
+    private String roleOf(Jwt jwt) {
+        String role = jwt.getClaimAsString(roleClaim);
+        if (role != null) {
+            return role;
+        }
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (!(realmAccess != null && realmAccess.get("roles") instanceof Collection<?> realmRoles)) {
+            return null;
+        }
+        Set<String> held = realmRoles.stream()
+                .map(realmRole -> String.valueOf(realmRole).toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return roles.stream().filter(held::contains).findFirst().orElse(null);
+    }
+
+    private CallerIdentity findBySubject(Jwt jwt) {
+        if (jwt.getSubject() == null) {
+            return null;
+        }
+        try {
+            return subjectLookup.findBySubject("Bearer " + jwt.getTokenValue(), jwt.getSubject());
+        } catch (Exception e) {
+            log.debug("No user found for subject: {}", jwt.getSubject(), e);
+            return null;
+        }
+    }
+}
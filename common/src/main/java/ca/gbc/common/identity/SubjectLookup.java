@@ -0,0 +1,15 @@
+package ca.gbc.common.identity;
+
+/**
+ * Asks UserService which user a Keycloak subject belongs to. Each service implements it with its own
+ * UserService client; {@link CallerIdentityResolver} only calls it for tokens the user directory
+ * cannot map.
+ */
+@FunctionalInterface
+public interface SubjectLookup {
+
+    /**
+     * @return the user with its role, or {@code null} when no user is linked to the subject
+     */
+    CallerIdentity findBySubject(String authorization, String subject);
+}
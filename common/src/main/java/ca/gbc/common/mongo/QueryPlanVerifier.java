@@ -0,0 +1,234 @@
+package ca.gbc.common.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs {@code explain} for the shape of every repository query and flags plans that fall back to a
+ * collection scan. The probes are derived from the repositories themselves: {@code @Query} filters are
+ * parsed with sample arguments and derived finders are rebuilt from their method names, so a new or
+ * changed query is checked without being listed here. Queries built with {@code MongoTemplate} are
+ * added by {@link QueryProbeSource} beans. Checked once at startup and on demand through
+ * {@code /actuator/queryplans}.
+ */
+@Slf4j
+@Endpoint(id = "queryplans")
+public class QueryPlanVerifier {
+
+    private static final String COLLSCAN = "COLLSCAN";
+    private static final Pattern PARAMETER = Pattern.compile("(['\"]?)\\?(\\d+)\\1");
+    private static final String PARAMETER_MARKER = "__probe_parameter_";
+
+    private final MongoTemplate mongoTemplate;
+    private final ListableBeanFactory beanFactory;
+    private final ObjectProvider<QueryProbeSource> probeSources;
+    private final QueryMapper queryMapper;
+
+    public QueryPlanVerifier(MongoTemplate mongoTemplate,
+                             ListableBeanFactory beanFactory,
+                             ObjectProvider<QueryProbeSource> probeSources) {
+        this.mongoTemplate = mongoTemplate;
+        this.beanFactory = beanFactory;
+        this.probeSources = probeSources;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        try {
+            Map<String, Object> plans = queryPlans();
+            long scans = plans.values().stream().filter(plan -> plan.toString().contains(COLLSCAN)).count();
+            if (scans == 0) {
+                log.info("Query plan check passed for {} queries", plans.size());
+            } else {
+                log.warn("Query plan check found {} collection scans out of {} queries", scans, plans.size());
+            }
+        } catch (Exception ex) {
+            log.error("Unable to verify Mongo query plans: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryPlans() {
+        Map<String, Object> plans = new LinkedHashMap<>();
+        for (QueryProbe probe : probes()) {
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getPersistentEntity(probe.entityType());
+            String collection = mongoTemplate.getCollectionName(probe.entityType());
+            Document find = new Document("find", collection)
+                    .append("filter", queryMapper.getMappedObject(probe.query().getQueryObject(), entity));
+            Document sort = queryMapper.getMappedSort(probe.query().getSortObject(), entity);
+            if (!sort.isEmpty()) {
+                find.append("sort", sort);
+            }
+
+            Set<String> stages = new LinkedHashSet<>();
+            Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find)
+                    .append("verbosity", "queryPlanner"));
+            collectStages(explain.get("queryPlanner", Document.class).get("winningPlan"), stages);
+            if (stages.contains(COLLSCAN)) {
+                log.warn("Query {} on collection {} is a collection scan, plan stages: {}",
+                        probe.name(), collection, stages);
+            }
+            plans.put(probe.name(), stages);
+        }
+        return plans;
+    }
+
+    private List<QueryProbe> probes() {
+        List<QueryProbe> probes = new ArrayList<>();
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType)
+                    .ifPresent(information -> probes.addAll(repositoryProbes(information)));
+        }
+        probeSources.orderedStream().forEach(source -> probes.addAll(source.queryProbes()));
+        return probes;
+    }
+
+    private static List<QueryProbe> repositoryProbes(RepositoryInformation information) {
+        List<QueryProbe> probes = new ArrayList<>();
+        Class<?> domainType = information.getDomainType();
+        for (Method method : information.getQueryMethods()) {
+            String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+            org.springframework.data.mongodb.repository.Query annotated =
+                    method.getAnnotation(org.springframework.data.mongodb.repository.Query.class);
+            if (annotated != null && !annotated.value().isEmpty()) {
+                probes.add(new QueryProbe(name, domainType, new BasicQuery(annotatedFilter(annotated.value(), method))));
+                continue;
+            }
+            PartTree tree = new PartTree(method.getName(), domainType);
+            if (tree.getParts().isEmpty()) {
+                // findAllBy(Pageable) and friends read the whole collection on purpose.
+                continue;
+            }
+            List<Criteria> alternatives = new ArrayList<>();
+            for (PartTree.OrPart orPart : tree) {
+                List<Criteria> conditions = new ArrayList<>();
+                orPart.forEach(part -> conditions.add(condition(part)));
+                alternatives.add(conditions.size() == 1 ? conditions.get(0) : new Criteria().andOperator(conditions));
+            }
+            Criteria criteria = alternatives.size() == 1 ? alternatives.get(0) : new Criteria().orOperator(alternatives);
+            probes.add(new QueryProbe(name, domainType, Query.query(criteria).with(tree.getSort())));
+        }
+        return probes;
+    }
+
+    /**
+     * Parses an {@code @Query} filter with each {@code ?n} placeholder bound to a sample of the matching
+     * parameter's type, so date ranges compare against dates and ids against strings.
+     */
+    private static Document annotatedFilter(String json, Method method) {
+        Matcher matcher = PARAMETER.matcher(json);
+        Document filter = Document.parse(matcher.replaceAll("\"" + PARAMETER_MARKER + "$2\""));
+        return (Document) bindParameters(filter, method.getParameterTypes());
+    }
+
+    private static Object bindParameters(Object node, Class<?>[] parameterTypes) {
+        if (node instanceof Document document) {
+            document.replaceAll((key, value) -> bindParameters(value, parameterTypes));
+            return document;
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().map(value -> bindParameters(value, parameterTypes)).toList();
+        }
+        if (node instanceof String text && text.startsWith(PARAMETER_MARKER)) {
+            return sample(parameterTypes[Integer.parseInt(text.substring(PARAMETER_MARKER.length()))]);
+        }
+        return node;
+    }
+
+    private static Criteria condition(Part part) {
+        Criteria where = Criteria.where(part.getProperty().toDotPath());
+        Object value = sample(part.getProperty().getLeafType());
+        return switch (part.getType()) {
+            case NEGATING_SIMPLE_PROPERTY -> where.ne(value);
+            case GREATER_THAN, AFTER -> where.gt(value);
+            case GREATER_THAN_EQUAL -> where.gte(value);
+            case LESS_THAN, BEFORE -> where.lt(value);
+            case LESS_THAN_EQUAL -> where.lte(value);
+            case BETWEEN -> where.gt(value).lt(value);
+            case IN -> where.in(List.of(value));
+            case NOT_IN -> where.nin(List.of(value));
+            case IS_NULL -> where.is(null);
+            case IS_NOT_NULL -> where.ne(null);
+            case EXISTS -> where.exists(true);
+            case TRUE -> where.is(true);
+            case FALSE -> where.is(false);
+            case STARTING_WITH, LIKE -> where.regex("^" + value);
+            default -> where.is(value);
+        };
+    }
+
+    private static Object sample(Class<?> type) {
+        if (LocalDateTime.class.equals(type)) {
+            return LocalDateTime.now();
+        }
+        if (LocalDate.class.equals(type)) {
+            return LocalDate.now();
+        }
+        if (Instant.class.equals(type) || Date.class.equals(type)) {
+            return new Date();
+        }
+        if (Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class)) {
+            return 0L;
+        }
+        if (Boolean.class.equals(type) || boolean.class.equals(type)) {
+            return true;
+        }
+        if (type.isEnum() && type.getEnumConstants().length > 0) {
+            return type.getEnumConstants()[0];
+        }
+        if (Collection.class.isAssignableFrom(type) || type.isArray()) {
+            return List.of("probe");
+        }
+        return "probe";
+    }
+
+    /**
+     * Collects every {@code stage} in a plan tree. Works for both classic plans and the nested
+     * {@code queryPlan} layout newer servers report for slot-based execution.
+     */
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
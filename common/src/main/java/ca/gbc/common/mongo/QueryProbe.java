@@ -0,0 +1,9 @@
+package ca.gbc.common.mongo;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * One query shape to explain: the entity it runs against and the criteria and sort it uses.
+ */
+public record QueryProbe(String name, Class<?> entityType, Query query) {
+}
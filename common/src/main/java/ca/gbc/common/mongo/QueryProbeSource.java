@@ -0,0 +1,13 @@
+package ca.gbc.common.mongo;
+
+import java.util.List;
+
+/**
+ * Contributes the queries a service builds with {@code MongoTemplate} to {@link QueryPlanVerifier}, which
+ * only discovers repository methods on its own. Implementations should build each probe with the same
+ * method that builds the query at runtime, so the checked shape cannot drift from the real one.
+ */
+public interface QueryProbeSource {
+
+    List<QueryProbe> queryProbes();
+}
@@ -0,0 +1,109 @@
+package ca.gbc.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends through {@link KafkaTemplate} with a bound on unacknowledged sends. Once the bound is reached,
+ * callers wait for a permit instead of queueing more records in the producer, and give up after the
+ * acquire timeout. Latency, failures and sends in flight are recorded per topic.
+ */
+@Slf4j
+public class MeteredKafkaSender {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Map<String, TopicMeters> meters = new ConcurrentHashMap<>();
+
+    public MeteredKafkaSender(KafkaTemplate<String, Object> kafkaTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${kafka.producer.max-in-flight-sends:1000}") int maxInFlightSends,
+                              @Value("${kafka.producer.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxInFlightSends);
+        this.acquireTimeout = acquireTimeout;
+        Gauge.builder("kafka.producer.sends.usage", permits, available -> 1.0 - (double) available.availablePermits() / maxInFlightSends)
+                .description("Share of the in-flight send bound in use")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object payload) {
+        TopicMeters topicMeters = meters.computeIfAbsent(topic, this::registerMeters);
+        if (!acquirePermit()) {
+            topicMeters.rejected().increment();
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Producer backlog full, no send permit within " + acquireTimeout));
+        }
+        topicMeters.inFlight().incrementAndGet();
+        long started = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> send;
+        try {
+            send = kafkaTemplate.send(topic, key, payload);
+        } catch (RuntimeException ex) {
+            complete(topicMeters, started, ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+        return send.whenComplete((result, ex) -> complete(topicMeters, started, ex));
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void complete(TopicMeters topicMeters, long started, Throwable failure) {
+        topicMeters.inFlight().decrementAndGet();
+        permits.release();
+        long elapsed = System.nanoTime() - started;
+        if (failure == null) {
+            topicMeters.succeeded().record(elapsed, TimeUnit.NANOSECONDS);
+        } else {
+            topicMeters.failed().record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Kafka send to {} failed: {}", topicMeters.topic(), failure.getMessage());
+        }
+    }
+
+    private TopicMeters registerMeters(String topic) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("kafka.producer.sends.in.flight", inFlight, AtomicInteger::get)
+                .tag("topic", topic)
+                .register(meterRegistry);
+        return new TopicMeters(
+                topic,
+                inFlight,
+                sendTimer(topic, "success"),
+                sendTimer(topic, "failure"),
+                Counter.builder("kafka.producer.sends.rejected").tag("topic", topic).register(meterRegistry));
+    }
+
+    private Timer sendTimer(String topic, String result) {
+        return Timer.builder("kafka.producer.send")
+                .tag("topic", topic)
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private record TopicMeters(String topic, AtomicInteger inFlight, Timer succeeded, Timer failed, Counter rejected) {}
+}
@@ -0,0 +1,73 @@
+package ca.gbc.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records messages for {@link OutboxRelay} instead of sending them from the request thread, so a slow or
+ * unreachable broker never delays or fails a request.
+ */
+@RequiredArgsConstructor
+public class Outbox {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Stages a message about an aggregate that is about to be written. Call it before the write, with the
+     * id the aggregate will be saved under.
+     */
+    public void enqueue(String topic, String key, Object payload, Class<?> aggregateType, String aggregateId,
+                        OutboxMessage.AggregateState expectedState) {
+        enqueue(topic, key, payload, aggregateType, aggregateId, expectedState, null);
+    }
+
+    /**
+     * Stages a message about an update to an existing aggregate; it is published once the aggregate's
+     * stored fields match {@code expectedFields}, keyed by their Mongo field names.
+     */
+    public void enqueue(String topic, String key, Object payload, Class<?> aggregateType, String aggregateId,
+                        OutboxMessage.AggregateState expectedState, Map<String, Object> expectedFields) {
+        mongoTemplate.insert(message(topic, key, payload, mongoTemplate.getCollectionName(aggregateType),
+                aggregateId, expectedState, expectedFields, Instant.now()));
+    }
+
+    /**
+     * Stages one message per aggregate in a single insert, each keyed by its aggregate id.
+     */
+    public void enqueueAll(String topic, Map<String, ?> payloadsByAggregateId, Class<?> aggregateType,
+                           OutboxMessage.AggregateState expectedState) {
+        if (payloadsByAggregateId.isEmpty()) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(aggregateType);
+        Instant now = Instant.now();
+        List<OutboxMessage> messages = payloadsByAggregateId.entrySet().stream()
+                .map(entry -> message(topic, entry.getKey(), entry.getValue(), collection, entry.getKey(),
+                        expectedState, null, now))
+                .toList();
+        mongoTemplate.insert(messages, OutboxMessage.class);
+    }
+
+    private static OutboxMessage message(String topic, String key, Object payload, String aggregateCollection,
+                                         String aggregateId, OutboxMessage.AggregateState expectedState,
+                                         Map<String, Object> expectedFields, Instant createdAt) {
+        return new OutboxMessage(
+                null,
+                topic,
+                key,
+                payload,
+                aggregateCollection,
+                aggregateId,
+                expectedState,
+                expectedFields,
+                OutboxMessage.Status.PENDING,
+                createdAt,
+                0,
+                null
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package ca.gbc.common.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A Kafka message waiting to be published by {@link OutboxRelay}. It is written before the aggregate it
+ * describes, so a crash can never leave a saved aggregate without its message; the relay only publishes once
+ * the aggregate is in the state the message expects, and discards the message if that never happens.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox")
+@CompoundIndex(name = "status_created", def = "{'status': 1, 'createdAt': 1}")
+public class OutboxMessage {
+
+    public enum Status { PENDING, SENT, DISCARDED }
+
+    /**
+     * State the aggregate must be in before the message may be published.
+     */
+    public enum AggregateState { PRESENT, ABSENT }
+
+    @Id
+    private String id;
+    private String topic;
+    private String messageKey;
+    private Object payload;
+    private String aggregateCollection;
+    private String aggregateId;
+    private AggregateState expectedState;
+    /**
+     * Field values the aggregate must hold, for messages about an update to an existing document.
+     */
+    private Map<String, Object> expectedFields;
+    private Status status;
+    private Instant createdAt;
+    private int attempts;
+    @Indexed(expireAfterSeconds = 604800)
+    private Instant completedAt;
+}
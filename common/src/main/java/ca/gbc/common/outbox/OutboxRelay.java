@@ -0,0 +1,272 @@
+package ca.gbc.common.outbox;
+
+import ca.gbc.common.mongo.QueryProbe;
+import ca.gbc.common.mongo.QueryProbeSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes pending {@link OutboxMessage}s in batches. One replica at a time holds a lease on the relay, so
+ * messages with the same key leave in the order they were staged; a message that cannot be sent holds back
+ * the later messages of its key until a following poll succeeds. Each service names its own lease with
+ * {@code outbox.lease-id}.
+ */
+@Slf4j
+public class OutboxRelay implements QueryProbeSource {
+
+    private static final String LEASE_COLLECTION = "outboxLeases";
+
+    private final MongoTemplate mongoTemplate;
+    private final MeteredKafkaSender sender;
+    private final int batchSize;
+    private final Duration grace;
+    private final Duration sendTimeout;
+    private final Duration lease;
+    private final String leaseId;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter published;
+    private final Counter failed;
+    private final Counter discarded;
+
+    public OutboxRelay(MongoTemplate mongoTemplate,
+                       MeteredKafkaSender sender,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.batch-size:200}") int batchSize,
+                       @Value("${outbox.grace:PT1M}") Duration grace,
+                       @Value("${outbox.send-timeout:PT10S}") Duration sendTimeout,
+                       @Value("${outbox.lease:PT15S}") Duration lease,
+                       @Value("${outbox.lease-id:outbox}") String leaseId) {
+        this.mongoTemplate = mongoTemplate;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.grace = grace;
+        this.sendTimeout = sendTimeout;
+        this.lease = lease;
+        this.leaseId = leaseId;
+        this.published = Counter.builder("outbox.messages").tag("result", "published").register(meterRegistry);
+        this.failed = Counter.builder("outbox.messages").tag("result", "failed").register(meterRegistry);
+        this.discarded = Counter.builder("outbox.messages").tag("result", "discarded").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            if (!holdsLease()) {
+                return;
+            }
+            List<OutboxMessage> batch;
+            do {
+                batch = mongoTemplate.find(pendingQuery(), OutboxMessage.class);
+                if (!batch.isEmpty() && publish(batch) == 0) {
+                    return;
+                }
+            } while (batch.size() == batchSize && holdsLease());
+        } catch (Exception ex) {
+            log.error("Outbox relay failed, retrying on the next poll: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public List<QueryProbe> queryProbes() {
+        return List.of(new QueryProbe("OutboxRelay.pending", OutboxMessage.class, pendingQuery()));
+    }
+
+    /**
+     * The oldest pending messages, in the order they were staged.
+     */
+    private Query pendingQuery() {
+        return Query.query(Criteria.where("status").is(OutboxMessage.Status.PENDING))
+                .with(Sort.by("createdAt", "id"))
+                .limit(batchSize);
+    }
+
+    /**
+     * Sends one batch and records the outcome.
+     *
+     * @return how many messages left the pending state
+     */
+    private int publish(List<OutboxMessage> batch) {
+        Map<String, Document> present = presentAggregates(batch);
+        Map<String, Integer> lastForAggregate = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            lastForAggregate.put(aggregateRef(batch.get(i)), i);
+        }
+        Instant staleBefore = Instant.now().minus(grace);
+        Set<String> heldKeys = new HashSet<>();
+        List<String> discardedIds = new ArrayList<>();
+        Map<String, Deque<OutboxMessage>> readyByKey = new LinkedHashMap<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            if (heldKeys.contains(message.getMessageKey())) {
+                continue;
+            }
+            if (isReady(message, present.get(aggregateRef(message)))) {
+                readyByKey.computeIfAbsent(message.getMessageKey(), key -> new ArrayDeque<>()).add(message);
+            } else if (message.getCreatedAt().isBefore(staleBefore)) {
+                // the write this message was staged for never happened
+                discardedIds.add(message.getId());
+            } else if (message.getExpectedFields() != null && lastForAggregate.get(aggregateRef(message)) > i) {
+                // a later update of the same aggregate overwrote the fields this one expected
+                discardedIds.add(message.getId());
+            } else {
+                heldKeys.add(message.getMessageKey());
+            }
+        }
+
+        List<String> sentIds = new ArrayList<>();
+        List<String> failedIds = new ArrayList<>();
+        sendInKeyOrder(readyByKey, sentIds, failedIds);
+
+        Instant now = Instant.now();
+        markCompleted(sentIds, OutboxMessage.Status.SENT, now);
+        markCompleted(discardedIds, OutboxMessage.Status.DISCARDED, now);
+        if (!failedIds.isEmpty()) {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(failedIds)),
+                    new Update().inc("attempts", 1), OutboxMessage.class);
+        }
+        published.increment(sentIds.size());
+        failed.increment(failedIds.size());
+        discarded.increment(discardedIds.size());
+        if (!discardedIds.isEmpty()) {
+            log.warn("Discarded {} outbox messages whose aggregate was never written", discardedIds.size());
+        }
+        return sentIds.size() + discardedIds.size();
+    }
+
+    /**
+     * Each round sends the next message of every key and waits for all of them, so different keys are in
+     * flight together while a key never has two. A failed send drops its key for the rest of the batch;
+     * its later messages stay pending and go out after it on a following poll.
+     */
+    private void sendInKeyOrder(Map<String, Deque<OutboxMessage>> readyByKey, List<String> sentIds, List<String> failedIds) {
+        while (!readyByKey.isEmpty()) {
+            Map<OutboxMessage, CompletableFuture<?>> round = new LinkedHashMap<>();
+            for (Deque<OutboxMessage> messages : readyByKey.values()) {
+                OutboxMessage message = messages.poll();
+                round.put(message, sender.send(message.getTopic(), message.getMessageKey(), message.getPayload()));
+            }
+            for (Map.Entry<OutboxMessage, CompletableFuture<?>> send : round.entrySet()) {
+                OutboxMessage message = send.getKey();
+                if (awaitSend(message, send.getValue())) {
+                    sentIds.add(message.getId());
+                } else {
+                    failedIds.add(message.getId());
+                    readyByKey.remove(message.getMessageKey());
+                }
+            }
+            readyByKey.values().removeIf(Deque::isEmpty);
+        }
+    }
+
+    private boolean awaitSend(OutboxMessage message, CompletableFuture<?> send) {
+        try {
+            send.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            log.warn("Unable to publish outbox message {} to {}: {}", message.getId(), message.getTopic(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private void markCompleted(List<String> ids, OutboxMessage.Status status, Instant completedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                new Update().set("status", status).set("completedAt", completedAt), OutboxMessage.class);
+    }
+
+    private static boolean isReady(OutboxMessage message, Document aggregate) {
+        if (message.getExpectedState() == OutboxMessage.AggregateState.ABSENT) {
+            return aggregate == null;
+        }
+        if (aggregate == null) {
+            return false;
+        }
+        return message.getExpectedFields() == null || message.getExpectedFields().entrySet().stream()
+                .allMatch(field -> Objects.equals(aggregate.get(field.getKey()), field.getValue()));
+    }
+
+    /**
+     * One {@code $in} lookup per aggregate collection, returning the aggregates found by "collection/id"
+     * with the fields any message of the batch expects.
+     */
+    private Map<String, Document> presentAggregates(List<OutboxMessage> batch) {
+        Map<String, Set<Object>> idsByCollection = new HashMap<>();
+        Map<String, Set<String>> fieldsByCollection = new HashMap<>();
+        for (OutboxMessage message : batch) {
+            String id = message.getAggregateId();
+            idsByCollection.computeIfAbsent(message.getAggregateCollection(), collection -> new HashSet<>())
+                    .add(ObjectId.isValid(id) ? new ObjectId(id) : id);
+            if (message.getExpectedFields() != null) {
+                fieldsByCollection.computeIfAbsent(message.getAggregateCollection(), collection -> new HashSet<>())
+                        .addAll(message.getExpectedFields().keySet());
+            }
+        }
+        Map<String, Document> present = new HashMap<>();
+        idsByCollection.forEach((collection, ids) -> {
+            Query query = Query.query(Criteria.where("_id").in(ids));
+            query.fields().include("_id");
+            fieldsByCollection.getOrDefault(collection, Set.of()).forEach(field -> query.fields().include(field));
+            mongoTemplate.find(query, Document.class, collection)
+                    .forEach(document -> present.put(aggregateRef(collection, document.get("_id").toString()), document));
+        });
+        return present;
+    }
+
+    private static String aggregateRef(OutboxMessage message) {
+        return aggregateRef(message.getAggregateCollection(), message.getAggregateId());
+    }
+
+    private static String aggregateRef(String collection, String id) {
+        return collection + "/" + id;
+    }
+
+    /**
+     * Takes or extends the relay lease. The upsert only matches a lease this instance owns or one that has
+     * expired; when another replica holds it, the upsert collides with its document and fails.
+     */
+    private boolean holdsLease() {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(leaseId)
+                .orOperator(Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update().set("owner", instanceId).set("expiresAt", now.plus(lease));
+        try {
+            mongoTemplate.upsert(query, update, LEASE_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+}
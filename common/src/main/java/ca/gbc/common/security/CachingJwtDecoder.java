@@ -0,0 +1,170 @@
+package ca.gbc.common.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT decoder that keeps Keycloak off the request path. The JWK set is fetched at startup, cached for
+ * {@code security.jwt.jwk-cache-ttl} and refreshed in the background shortly before it expires; while
+ * Keycloak is slow or down the last good keys stay in use for up to
+ * {@code security.jwt.jwk-outage-tolerance}. Tokens that verified are cached by their SHA-256 hash
+ * until they expire, so a client repeating its token pays for the signature check once. The issuer is
+ * only checked when {@code security.jwt.issuer} is set.
+ * <p>
+ * {@code security.jwt.decode} times every decode, tagged with whether the token cache answered it;
+ * {@code security.jwt.verification} times the parse, signature and claim checks of cache misses.
+ * <p>
+ * Services register it with {@code @Import(CachingJwtDecoder.class)}.
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final String jwkSetUri;
+    private final JWKSource<SecurityContext> jwkSource;
+    private final NimbusJwtDecoder delegate;
+    private final int maxCachedTokens;
+    private final Map<String, Jwt> tokens = new ConcurrentHashMap<>();
+    private final Timer cacheHits;
+    private final Timer cacheMisses;
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public CachingJwtDecoder(MeterRegistry meterRegistry,
+                             @Value("${security.jwt.jwk-set-uri}") String jwkSetUri,
+                             @Value("${security.jwt.jwk-cache-ttl:PT15M}") Duration jwkCacheTtl,
+                             @Value("${security.jwt.jwk-refresh-ahead:PT1M}") Duration jwkRefreshAhead,
+                             @Value("${security.jwt.jwk-outage-tolerance:PT4H}") Duration jwkOutageTolerance,
+                             @Value("${security.jwt.token-cache-size:10000}") int maxCachedTokens,
+                             @Value("${security.jwt.issuer:}") String issuer) throws MalformedURLException {
+        this.jwkSetUri = jwkSetUri;
+        this.jwkSource = JWKSourceBuilder.create(URI.create(jwkSetUri).toURL())
+                .cache(jwkCacheTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(jwkRefreshAhead.toMillis(), true)
+                .outageTolerant(jwkOutageTolerance.toMillis())
+                .retrying(true)
+                .build();
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // claims are checked by the decoder's validators, as with NimbusJwtDecoder.withJwkSetUri
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        this.delegate = new NimbusJwtDecoder(processor);
+        if (!issuer.isEmpty()) {
+            delegate.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        }
+        this.maxCachedTokens = maxCachedTokens;
+        this.cacheHits = Timer.builder("security.jwt.decode").tag("cache", "hit").register(meterRegistry);
+        this.cacheMisses = Timer.builder("security.jwt.decode").tag("cache", "miss").register(meterRegistry);
+        this.validTokens = Timer.builder("security.jwt.verification").tag("outcome", "valid").register(meterRegistry);
+        this.invalidTokens = Timer.builder("security.jwt.verification").tag("outcome", "invalid").register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", tokens, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Loads the keys before the first request needs them; if Keycloak is not up yet they are fetched on
+     * first use instead.
+     */
+    @PostConstruct
+    void prefetch() {
+        try {
+            List<JWK> keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            log.info("Prefetched {} signing keys from {}", keys.size(), jwkSetUri);
+        } catch (KeySourceException ex) {
+            log.warn("Unable to prefetch signing keys from {}: {}", jwkSetUri, ex.getMessage());
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        String key = hash(token);
+        Jwt cached = tokens.get(key);
+        if (cached != null) {
+            if (cached.getExpiresAt().isAfter(Instant.now())) {
+                cacheHits.record(Duration.ofNanos(System.nanoTime() - start));
+                return cached;
+            }
+            tokens.remove(key, cached);
+        }
+        Jwt jwt;
+        long verifyStart = System.nanoTime();
+        try {
+            jwt = delegate.decode(token);
+            validTokens.record(Duration.ofNanos(System.nanoTime() - verifyStart));
+        } catch (JwtException ex) {
+            invalidTokens.record(Duration.ofNanos(System.nanoTime() - verifyStart));
+            throw ex;
+        }
+        cache(key, jwt);
+        cacheMisses.record(Duration.ofNanos(System.nanoTime() - start));
+        return jwt;
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (jwkSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * When the cache is full, expired tokens are dropped first; if none have expired the new token is
+     * simply not cached.
+     */
+    private void cache(String key, Jwt jwt) {
+        if (jwt.getExpiresAt() == null) {
+            return;
+        }
+        if (tokens.size() >= maxCachedTokens) {
+            Instant now = Instant.now();
+            tokens.values().removeIf(cached -> !cached.getExpiresAt().isAfter(now));
+            if (tokens.size() >= maxCachedTokens) {
+                return;
+            }
+        }
+        tokens.put(key, jwt);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
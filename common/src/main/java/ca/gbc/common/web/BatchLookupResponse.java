@@ -0,0 +1,19 @@
+package ca.gbc.common.web;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answer to a batch lookup: the records that exist, and the requested ids that matched nothing, in
+ * request order.
+ */
+public record BatchLookupResponse<T, ID>(List<T> found, List<ID> missing) {
+
+    public static <T, ID> BatchLookupResponse<T, ID> of(Collection<ID> ids, List<T> found, Function<T, ID> idOf) {
+        Set<ID> foundIds = found.stream().map(idOf).collect(Collectors.toSet());
+        return new BatchLookupResponse<>(found, ids.stream().filter(id -> !foundIds.contains(id)).toList());
+    }
+}
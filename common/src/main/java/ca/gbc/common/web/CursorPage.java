@@ -0,0 +1,22 @@
+package ca.gbc.common.web;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the id to pass as {@code after} for the
+ * next page, or {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows read in cursor order; the extra row only signals
+     * that another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, ?> cursor, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? String.valueOf(cursor.apply(page.get(page.size() - 1))) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
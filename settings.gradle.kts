@@ -6,4 +6,5 @@ include("BookingService")
 include("EventService")
 include("ApprovalService")
 include("api-gateway")
-include("notification-service")
\ No newline at end of file
+include("notification-service")
+include("common")
\ No newline at end of file